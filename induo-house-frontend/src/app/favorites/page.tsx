@@ -4,8 +4,8 @@ import Link from 'next/link';
 import { Heart } from 'lucide-react';
 import { useEffect, useState } from 'react';
 import { PropertyCard } from '@/components/PropertyCard';
-import { getFavorites } from '@/lib/favorites';
-import { getProperty } from '@/lib/properties';
+import { getFavorites, removeFavorites } from '@/lib/favorites';
+import { getPropertiesBatch } from '@/lib/properties';
 import { PropertyListItem } from '@/types';
 
 export default function FavoritesPage() {
@@ -14,21 +14,17 @@ export default function FavoritesPage() {
 
   useEffect(() => {
     const ids = getFavorites();
-    Promise.all(ids.map((id) => getProperty(id).then((property) => ({
-      id: property.id,
-      title: property.title,
-      price: property.price,
-      area: property.area,
-      city: property.city,
-      numberOfRooms: property.numberOfRooms,
-      transactionType: property.transactionType,
-      propertyType: property.propertyType,
-      status: property.status,
-      thumbnailUrl: property.images?.find((image) => image.isPrimary)?.url || property.images?.[0]?.url || null,
-      ownerFirstName: property.owner?.firstName,
-      ownerLastName: property.owner?.lastName,
-      ownerPhoneNumber: property.owner?.phoneNumber || undefined,
-    })))).then(setItems).finally(() => setLoading(false));
+    if (!ids.length) {
+      setLoading(false);
+      return;
+    }
+    getPropertiesBatch(ids)
+      .then((batch) => {
+        setItems(batch.items);
+        // Usuniete oferty znikaja z ulubionych
+        removeFavorites(batch.missingIds);
+      })
+      .finally(() => setLoading(false));
   }, []);
 
   return (
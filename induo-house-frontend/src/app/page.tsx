@@ -18,7 +18,7 @@ export default function HomePage() {
   const [properties, setProperties] = useState<PropertyListItem[]>([]);
 
   useEffect(() => {
-    getProperties({ size: 6 }).then((data) => setProperties(data.content)).catch(() => setProperties([]));
+    getProperties({ size: 6, view: 'card' }).then((data) => setProperties(data.content)).catch(() => setProperties([]));
   }, []);
 
   return (
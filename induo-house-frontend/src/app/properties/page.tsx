@@ -11,6 +11,7 @@ import { PropertyListItem } from '@/types';
 function PropertiesInner() {
   const params = useSearchParams();
   const router = useRouter();
+  const [q, setQ] = useState(params.get('q') || '');
   const [city, setCity] = useState(params.get('city') || '');
   const [transactionType, setTransactionType] = useState(params.get('transactionType') || '');
   const [propertyType, setPropertyType] = useState(params.get('propertyType') || '');
@@ -26,6 +27,7 @@ function PropertiesInner() {
   const load = useCallback(async () => {
     setLoading(true);
     const data = await getProperties({
+      q: q || undefined,
       city: city || undefined,
       transactionType: transactionType || undefined,
       propertyType: propertyType || undefined,
@@ -34,15 +36,17 @@ function PropertiesInner() {
       minArea: minArea ? Number(minArea) : undefined,
       page,
       size: 12,
+      view: 'card',
     }).catch(() => ({ content: [], totalElements: 0, totalPages: 0 }));
     setItems(data.content);
     setTotal(data.totalElements);
     setPages(data.totalPages);
     setLoading(false);
-  }, [city, maxPrice, minArea, minPrice, page, propertyType, transactionType]);
+  }, [city, maxPrice, minArea, minPrice, page, propertyType, q, transactionType]);
 
   useEffect(() => {
     const next = new URLSearchParams();
+    if (q) next.set('q', q);
     if (city) next.set('city', city);
     if (transactionType) next.set('transactionType', transactionType);
     if (propertyType) next.set('propertyType', propertyType);
@@ -55,9 +59,10 @@ function PropertiesInner() {
       void load();
     }, 0);
     return () => window.clearTimeout(timeout);
-  }, [city, load, maxPrice, minArea, minPrice, page, propertyType, router, transactionType]);
+  }, [city, load, maxPrice, minArea, minPrice, page, propertyType, q, router, transactionType]);
 
   function reset() {
+    setQ('');
     setCity('');
     setTransactionType('');
     setPropertyType('');
@@ -80,6 +85,7 @@ function PropertiesInner() {
             <h2>Filtry</h2>
             <button className="btn-ghost" type="button" onClick={reset}><RotateCcw size={16} /> Reset</button>
           </div>
+          <Field label="Słowa kluczowe"><input value={q} onChange={(e) => { setQ(e.target.value); setPage(0); }} placeholder="balkon, metro" /></Field>
           <Field label="Miasto"><input value={city} onChange={(e) => { setCity(e.target.value); setPage(0); }} placeholder="Kraków" /></Field>
           <Field label="Transakcja"><select value={transactionType} onChange={(e) => { setTransactionType(e.target.value); setPage(0); }}><option value="">Dowolna</option><option value="SALE">Sprzedaż</option><option value="RENT">Wynajem</option></select></Field>
           <Field label="Typ"><select value={propertyType} onChange={(e) => { setPropertyType(e.target.value); setPage(0); }}><option value="">Dowolny</option><option value="APARTMENT">Mieszkanie</option><option value="HOUSE">Dom</option><option value="LAND">Działka</option></select></Field>
@@ -1,8 +1,9 @@
 'use client';
 
-import { useState } from 'react';
+import { useEffect, useState } from 'react';
 import { useRouter } from 'next/navigation';
 import { Building2, MapPin, Search } from 'lucide-react';
+import { getSuggestions } from '@/lib/properties';
 
 export function SearchDock() {
   const router = useRouter();
@@ -11,6 +12,23 @@ export function SearchDock() {
   const [propertyType, setPropertyType] = useState('');
   const [maxPrice, setMaxPrice] = useState('');
   const [minArea, setMinArea] = useState('');
+  const [citySuggestions, setCitySuggestions] = useState<string[]>([]);
+
+  useEffect(() => {
+    const prefix = city.trim();
+    if (!prefix) {
+      setCitySuggestions([]);
+      return;
+    }
+    const timer = setTimeout(() => {
+      getSuggestions(prefix)
+        .then((suggestions) => setCitySuggestions(
+          Array.from(new Set(suggestions.map((suggestion) => suggestion.city))),
+        ))
+        .catch(() => setCitySuggestions([]));
+    }, 150);
+    return () => clearTimeout(timer);
+  }, [city]);
 
   function submit(event: React.FormEvent) {
     event.preventDefault();
@@ -30,7 +48,10 @@ export function SearchDock() {
           <form className="search-form" onSubmit={submit}>
             <div className="field">
               <label>Lokalizacja</label>
-              <div className="field-box"><MapPin size={18} /><input value={city} onChange={(event) => setCity(event.target.value)} placeholder="Miasto lub dzielnica" /></div>
+              <div className="field-box"><MapPin size={18} /><input value={city} onChange={(event) => setCity(event.target.value)} placeholder="Miasto lub dzielnica" list="city-suggestions" autoComplete="off" /></div>
+              <datalist id="city-suggestions">
+                {citySuggestions.map((suggestion) => <option key={suggestion} value={suggestion} />)}
+              </datalist>
             </div>
             <div className="field">
               <label>Transakcja</label>
@@ -13,6 +13,13 @@ export function isFavorite(id: number) {
   return getFavorites().includes(id);
 }
 
+export function removeFavorites(ids: number[]) {
+  if (!ids.length) return;
+  const next = getFavorites().filter((item) => !ids.includes(item));
+  localStorage.setItem(KEY, JSON.stringify(next));
+  window.dispatchEvent(new CustomEvent('favorites:change'));
+}
+
 export function toggleFavorite(id: number) {
   const current = getFavorites();
   const next = current.includes(id) ? current.filter((item) => item !== id) : [...current, id];
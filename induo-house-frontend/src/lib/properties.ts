@@ -2,10 +2,12 @@ import { api, API_BASE } from './api';
 import {
   CreatePropertyPayload,
   PageResponse,
+  PropertyBatch,
   PropertyDetail,
   PropertyFilters,
   PropertyImage,
   PropertyListItem,
+  Suggestion,
 } from '@/types';
 
 function toParams(filters: PropertyFilters = {}) {
@@ -26,6 +28,23 @@ export function getProperty(id: number) {
   return api<PropertyDetail>(`/properties/${id}`);
 }
 
+export const MAX_BATCH_SIZE = 100;
+
+export async function getPropertiesBatch(ids: number[]): Promise<PropertyBatch> {
+  const chunks: number[][] = [];
+  for (let i = 0; i < ids.length; i += MAX_BATCH_SIZE) chunks.push(ids.slice(i, i + MAX_BATCH_SIZE));
+  const batches = await Promise.all(chunks.map((chunk) => api<PropertyBatch>(`/properties/batch?ids=${chunk.join(',')}`)));
+  return {
+    items: batches.flatMap((batch) => batch.items),
+    missingIds: batches.flatMap((batch) => batch.missingIds),
+  };
+}
+
+export function getSuggestions(prefix: string, limit = 8) {
+  const params = new URLSearchParams({ prefix, limit: String(limit) });
+  return api<Suggestion[]>(`/properties/suggest?${params.toString()}`);
+}
+
 export function getMyProperties() {
   return api<PageResponse<PropertyListItem>>('/properties/my?page=0&size=50');
 }
@@ -28,10 +28,14 @@ export type PropertyListItem = {
   area: number;
   city: string;
   numberOfRooms: number | null;
+  latitude?: number | null;
+  longitude?: number | null;
   transactionType: TransactionType | string;
   propertyType: PropertyType | string;
   status: string;
   thumbnailUrl: string | null;
+  createdAt?: string;
+  updatedAt?: string;
   ownerFirstName?: string;
   ownerLastName?: string;
   ownerPhoneNumber?: string;
@@ -64,6 +68,8 @@ export type PropertyDetail = {
   numberOfRooms: number | null;
   floor?: number | null;
   totalFloors?: number | null;
+  latitude?: number | null;
+  longitude?: number | null;
   transactionType: TransactionType | string;
   propertyType: PropertyType | string;
   status: string;
@@ -81,9 +87,24 @@ export type PageResponse<T> = {
   totalPages: number;
   first: boolean;
   last: boolean;
+  nextCursor?: string | null;
+  approximateTotal?: boolean;
+};
+
+export type PropertyBatch = {
+  items: PropertyListItem[];
+  missingIds: number[];
+};
+
+export type Suggestion = {
+  type: 'CITY' | 'STREET';
+  value: string;
+  city: string;
+  count: number;
 };
 
 export type PropertyFilters = {
+  q?: string;
   city?: string;
   propertyType?: string;
   transactionType?: string;
@@ -92,8 +113,13 @@ export type PropertyFilters = {
   minArea?: number;
   maxArea?: number;
   bedrooms?: number;
+  lat?: number;
+  lon?: number;
+  radiusKm?: number;
+  bbox?: string;
   page?: number;
   size?: number;
+  view?: 'card' | 'map' | 'full';
 };
 
 export type CreatePropertyPayload = {
@@ -107,6 +133,8 @@ export type CreatePropertyPayload = {
   numberOfRooms: number | null;
   floor: number | null;
   totalFloors: number | null;
+  latitude?: number | null;
+  longitude?: number | null;
   propertyType: PropertyType;
   transactionType: TransactionType;
 };
@@ -0,0 +1,72 @@
+package com.induohouse.induo_house.config;
+
+import com.induohouse.induo_house.datasource.ReadYourWritesTracker;
+import com.induohouse.induo_house.datasource.ReplicaDataSource;
+import com.induohouse.induo_house.datasource.ReplicaLagMonitor;
+import com.induohouse.induo_house.datasource.ReplicaSet;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+// Transakcje readOnly czytaja z replik, reszta (i Flyway) z primary. LazyConnectionDataSourceProxy
+// bierze fizyczne polaczenie dopiero przy pierwszym zapytaniu - wtedy wie juz, ze transakcja
+// ustawila read-only, i siega po nie do ReplicaDataSource
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaSet replicaSet(DataSourceProperties properties,
+                                 @Value("${app.datasource.replicas.urls}") List<String> urls,
+                                 @Value("${app.datasource.replicas.username:}") String username,
+                                 @Value("${app.datasource.replicas.password:}") String password,
+                                 @Value("${app.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+                                 @Value("${app.datasource.replicas.connection-timeout:PT2S}") Duration connectionTimeout) {
+        List<String> replicaUrls = urls.stream().map(String::trim).filter(url -> !url.isEmpty()).toList();
+        if (replicaUrls.isEmpty()) {
+            throw new IllegalStateException("app.datasource.replicas.urls is empty while replicas are enabled");
+        }
+        return ReplicaSet.create(replicaUrls,
+                username.isBlank() ? properties.determineUsername() : username,
+                password.isBlank() ? properties.determinePassword() : password,
+                maximumPoolSize, connectionTimeout);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaSet replicaSet,
+                                               @Value("${app.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+                                               MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaSet, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaSet replicaSet,
+                                 ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(
+                new ReplicaDataSource(primaryDataSource, replicaSet, readYourWrites, meterRegistry));
+        return dataSource;
+    }
+}
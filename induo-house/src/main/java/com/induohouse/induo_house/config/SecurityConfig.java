@@ -46,7 +46,10 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.POST, "/api/auth/register", "/api/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/auth/logout").authenticated()
                         .requestMatchers("/api/auth/me").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/properties/import/**").authenticated()
+                        .requestMatchers(HttpMethod.GET, "/api/properties/export").hasAnyRole("AGENT", "ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/properties/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/changes").hasAnyRole("AGENT", "ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/properties/**").authenticated()
                         .requestMatchers(HttpMethod.PATCH, "/api/properties/**").authenticated()
                         .requestMatchers(HttpMethod.DELETE, "/api/properties/**").authenticated()
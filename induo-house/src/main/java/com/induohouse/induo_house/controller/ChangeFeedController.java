@@ -0,0 +1,38 @@
+package com.induohouse.induo_house.controller;
+
+import com.induohouse.induo_house.dto.response.ChangeFeedResponse;
+import com.induohouse.induo_house.service.PropertyChangeOutbox;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Changes", description = "Przyrostowa synchronizacja ogłoszeń")
+@RestController
+@RequestMapping("/api/changes")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final PropertyChangeOutbox propertyChangeOutbox;
+
+    @Operation(summary = "Zmiany ogłoszeń po kursorze",
+            description = "Dla rol AGENT i ADMIN, tak jak eksport. "
+                    + "Pierwsza synchronizacja: eksport /api/properties/export, potem zmiany od since=next. "
+                    + "Zmiana moze przyjsc wiecej niz raz; DELETED = usun, pozostale = pobierz ogloszenie ponownie.")
+    @GetMapping
+    public ResponseEntity<ChangeFeedResponse> getChanges(
+            @Parameter(description = "Kursor next z poprzedniej odpowiedzi; brak = od najstarszej zmiany")
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(propertyChangeOutbox.changesSince(since, limit));
+    }
+}
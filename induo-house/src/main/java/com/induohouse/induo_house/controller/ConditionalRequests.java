@@ -0,0 +1,96 @@
+package com.induohouse.induo_house.controller;
+
+import com.induohouse.induo_house.dto.PropertyFields;
+import org.springframework.http.CacheControl;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+// Walidatory HTTP i wybor formatu dla ogloszen; strony listy dostaja ETag z PropertyPageCache
+final class ConditionalRequests {
+
+    // Przegladarka i CDN moga trzymac odpowiedz, ale za kazdym razem ja rewaliduja
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePublic();
+
+    private ConditionalRequests() {
+    }
+
+    // updated_at zmienia sie przy kazdej edycji ogloszenia i jego zdjec. Mocny, wiec w tagu jest
+    // wszystko, co zmienia bajty odpowiedzi: format, wybrane pola i kodowanie. Tomcat nie kompresuje
+    // odpowiedzi z mocnym ETagiem, wiec szczegoly ida zawsze jako identity
+    static String detailEtag(Long id, LocalDateTime updatedAt, MediaType format, PropertyFields fields) {
+        Instant instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        return "\"" + id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, instant)
+                + "-" + format.getSubtype()
+                + "-" + Integer.toHexString(fields.cacheKey().hashCode())
+                + "-identity\"";
+    }
+
+    static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    // Kodowania z q-wartosciami: gzip;q=0 to jawna odmowa, x-gzip nie jest gzipem, a * obejmuje
+    // gzip tylko gdy ten nie jest wymieniony osobno
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        double wildcard = 0;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if ("gzip".equals(coding)) {
+                gzip = Math.max(gzip == null ? 0 : gzip, quality);
+            } else if ("*".equals(coding)) {
+                wildcard = Math.max(wildcard, quality);
+            }
+        }
+        return (gzip != null ? gzip : wildcard) > 0;
+    }
+
+    // Brak albo niepoprawne q traktujemy jak q=1, tak jak MediaType.parseMediaTypes
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            int eq = parameter.indexOf('=');
+            if (eq > 0 && "q".equalsIgnoreCase(parameter.substring(0, eq).trim())) {
+                try {
+                    double quality = Double.parseDouble(parameter.substring(eq + 1).trim());
+                    return quality >= 0 && quality <= 1 ? quality : 1;
+                } catch (NumberFormatException e) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+
+    // CBOR tylko gdy klient wprost o niego prosi i nie woli JSON-a; */* i brak naglowka to JSON
+    static MediaType preferredFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        double cbor = 0;
+        double json = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.equalsTypeAndSubtype(MediaType.APPLICATION_CBOR)) {
+                    cbor = Math.max(cbor, type.getQualityValue());
+                } else if (type.includes(MediaType.APPLICATION_JSON)) {
+                    json = Math.max(json, type.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        return cbor > 0 && cbor >= json ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON;
+    }
+}
@@ -1,31 +1,62 @@
 package com.induohouse.induo_house.controller;
 
 import com.induohouse.induo_house.dto.PageResponse;
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.PropertyFields;
 import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
 import com.induohouse.induo_house.dto.request.UpdatePropertyRequest;
+import com.induohouse.induo_house.dto.response.MapClusterDto;
+import com.induohouse.induo_house.dto.response.PropertyBatchResponse;
+import com.induohouse.induo_house.dto.response.PropertyFacetsResponse;
+import com.induohouse.induo_house.dto.response.PropertyImportJobResponse;
 import com.induohouse.induo_house.dto.response.PropertyImageResponse;
 import com.induohouse.induo_house.dto.response.PropertyListResponse;
 import com.induohouse.induo_house.dto.response.PropertyResponse;
+import com.induohouse.induo_house.dto.response.SuggestionDto;
 import com.induohouse.induo_house.entity.User;
 import com.induohouse.induo_house.service.FileStorageService;
+import com.induohouse.induo_house.service.PropertyExportService;
+import com.induohouse.induo_house.service.PropertyFacetService;
+import com.induohouse.induo_house.service.PropertyImportService;
+import com.induohouse.induo_house.service.PropertyMapClusterService;
+import com.induohouse.induo_house.service.PropertyPageCache;
 import com.induohouse.induo_house.service.PropertyService;
+import com.induohouse.induo_house.service.PropertySuggestIndex;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Tag(name = "Properties", description = "Zarządzanie ogłoszeniami nieruchomości")
 @SecurityRequirement(name = "cookieAuth")
@@ -35,35 +66,133 @@ import java.math.BigDecimal;
 public class PropertyController {
 
     private final PropertyService propertyService;
+    private final PropertyFacetService propertyFacetService;
+    private final PropertyMapClusterService propertyMapClusterService;
+    private final PropertySuggestIndex propertySuggestIndex;
+    private final PropertyPageCache propertyPageCache;
+    private final PropertyExportService propertyExportService;
+    private final PropertyImportService propertyImportService;
     private final FileStorageService fileStorageService;
 
-    public PropertyController(PropertyService propertyService, FileStorageService fileStorageService) {
+    public PropertyController(PropertyService propertyService,
+                              PropertyFacetService propertyFacetService,
+                              PropertyMapClusterService propertyMapClusterService,
+                              PropertySuggestIndex propertySuggestIndex,
+                              PropertyPageCache propertyPageCache,
+                              PropertyExportService propertyExportService,
+                              PropertyImportService propertyImportService,
+                              FileStorageService fileStorageService) {
         this.propertyService = propertyService;
+        this.propertyFacetService = propertyFacetService;
+        this.propertyMapClusterService = propertyMapClusterService;
+        this.propertySuggestIndex = propertySuggestIndex;
+        this.propertyPageCache = propertyPageCache;
+        this.propertyExportService = propertyExportService;
+        this.propertyImportService = propertyImportService;
         this.fileStorageService = fileStorageService;
     }
 
     @Operation(summary = "Pobierz/filtruj nieruchomości")
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PageResponse.class)),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, schema = @Schema(implementation = PageResponse.class))})
     @GetMapping
-    public ResponseEntity<PageResponse<PropertyListResponse>> getAll(
-            @RequestParam(required = false) String city,
-            @RequestParam(required = false) String propertyType,
-            @RequestParam(required = false) String transactionType,
-            @RequestParam(required = false) BigDecimal minPrice,
-            @RequestParam(required = false) BigDecimal maxPrice,
-            @RequestParam(required = false) BigDecimal minArea,
-            @RequestParam(required = false) BigDecimal maxArea,
-            @RequestParam(required = false) Integer bedrooms,
-            @PageableDefault(size = 12, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable
+    public void getAll(
+            @ParameterObject PropertySearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean estimateTotal,
+            @Parameter(description = "card, map albo full (domyslnie)") @RequestParam(required = false) String view,
+            @Parameter(description = "Lista pol rozdzielona przecinkami, ma pierwszenstwo przed view")
+            @RequestParam(required = false) String fields,
+            @PageableDefault(size = 12) Pageable pageable,
+            ServletWebRequest request
+    ) throws IOException {
+        PropertyFields selected = PropertyFields.forList(view, fields);
+        MediaType format = ConditionalRequests.preferredFormat(request.getHeader(HttpHeaders.ACCEPT));
+        PropertyPageCache.EncodedPage page;
+        if (cursor != null) {
+            Window<PropertyListResponse> window = propertyService.searchAfter(
+                    criteria, PropertyCursor.decode(cursor), pageable.getPageSize(), selected);
+            page = propertyPageCache.encode(
+                    PageResponse.of(window, pageable.getPageSize(), cursor.isBlank(), PropertyCursor.next(window)),
+                    selected, format, false);
+        } else {
+            page = propertyPageCache.get(criteria, pageable, estimateTotal, selected, format,
+                    () -> PageResponse.of(propertyService.search(criteria, pageable, estimateTotal, selected)));
+        }
+        writePage(page, request);
+    }
+
+    @Operation(summary = "Liczniki filtrów dla bieżącego wyszukiwania")
+    @GetMapping("/facets")
+    public ResponseEntity<PropertyFacetsResponse> getFacets(@ParameterObject PropertySearchCriteria criteria) {
+        return ResponseEntity.ok(propertyFacetService.getFacets(criteria));
+    }
+
+    @Operation(summary = "Klastry ogłoszeń dla widoku mapy")
+    @GetMapping("/clusters")
+    public ResponseEntity<List<MapClusterDto>> getClusters(
+            @RequestParam String bbox,
+            @RequestParam int zoom,
+            @RequestParam(required = false) String transactionType
+    ) {
+        return ResponseEntity.ok(propertyMapClusterService.clusters(bbox, zoom, transactionType));
+    }
+
+    @Operation(summary = "Podpowiedzi miast i ulic")
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionDto>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
     ) {
-        Page<PropertyListResponse> page = propertyService.search(
-                city, propertyType, transactionType,
-                minPrice, maxPrice, minArea, maxArea, bedrooms, pageable);
-        return ResponseEntity.ok(PageResponse.of(page));
+        return ResponseEntity.ok(propertySuggestIndex.suggest(prefix, limit));
+    }
+
+    @Operation(summary = "Pobierz wiele ogłoszeń naraz, np. dla ulubionych")
+    @GetMapping("/batch")
+    public ResponseEntity<PropertyBatchResponse> getBatch(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(propertyService.getBatch(ids));
     }
 
+    @Operation(summary = "Eksport wszystkich aktywnych ogłoszeń (NDJSON albo CSV), tylko dla agentów i administratorów")
+    @GetMapping("/export")
+    public void export(
+            @Parameter(description = "ndjson (domyslnie) albo csv") @RequestParam(defaultValue = "ndjson") String format,
+            HttpServletResponse response
+    ) throws IOException {
+        PropertyExportService.Format selected = PropertyExportService.Format.from(format);
+        try (PropertyExportService.Slot slot = propertyExportService.acquireSlot()) {
+            response.setContentType(selected.contentType());
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + selected.fileName() + "\"");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            propertyExportService.export(selected, response.getOutputStream());
+        }
+    }
+
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = PropertyResponse.class)),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, schema = @Schema(implementation = PropertyResponse.class))})
     @GetMapping("/{id}")
-    public ResponseEntity<PropertyResponse> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(propertyService.getById(id));
+    public ResponseEntity<MappingJacksonValue> getById(
+            @PathVariable Long id,
+            @Parameter(description = "Lista pol rozdzielona przecinkami, np. id,title,price,images")
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        PropertyFields selected = PropertyFields.forDetail(fields);
+        MediaType format = ConditionalRequests.preferredFormat(request.getHeader(HttpHeaders.ACCEPT));
+        // Walidator sprawdzamy przed zaladowaniem ogloszenia, 304 nie dotyka zdjec ani wlasciciela
+        LocalDateTime updatedAt = propertyService.getLastModified(id);
+        if (request.checkNotModified(ConditionalRequests.detailEtag(id, updatedAt, format, selected),
+                ConditionalRequests.lastModified(updatedAt))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(ConditionalRequests.REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        MappingJacksonValue body = new MappingJacksonValue(propertyService.getById(id));
+        body.setFilters(selected.filterProvider());
+        // Format z ETagu musi byc tym, ktory faktycznie idzie w odpowiedzi
+        return ResponseEntity.ok().cacheControl(ConditionalRequests.REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING).contentType(format).body(body);
     }
 
     @GetMapping("/city/{city}")
@@ -87,7 +216,7 @@ public class PropertyController {
             @PathVariable Long userId,
             Pageable pageable
     ) {
-        return ResponseEntity.ok(propertyService.getByUserId(userId, pageable));
+        return ResponseEntity.ok(propertyService.getActiveByUserId(userId, pageable));
     }
 
     @GetMapping("/price-range")
@@ -122,6 +251,33 @@ public class PropertyController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @Operation(summary = "Import zbiorczy ogłoszeń z pliku NDJSON albo CSV (AGENT, ADMIN)")
+    @PostMapping("/import")
+    public ResponseEntity<PropertyImportJobResponse> importProperties(
+            @Parameter(description = "ndjson (domyslnie) albo csv") @RequestParam(defaultValue = "ndjson") String format,
+            InputStream body,
+            Authentication authentication
+    ) {
+        User currentUser = (User) authentication.getPrincipal();
+        PropertyImportJobResponse job = propertyImportService.start(
+                PropertyExportService.Format.from(format), body, currentUser);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/properties/import/" + job.id()))
+                .body(job);
+    }
+
+    @Operation(summary = "Postęp i błędy importu zbiorczego")
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<PropertyImportJobResponse> getImportStatus(
+            @PathVariable String jobId,
+            Authentication authentication
+    ) {
+        User currentUser = (User) authentication.getPrincipal();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(propertyImportService.getStatus(jobId, currentUser));
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<PropertyResponse> patchProperty(
             @PathVariable Long id,
@@ -165,4 +321,23 @@ public class PropertyController {
         propertyService.deleteImage(propertyId, imageId, currentUser.getId());
         return ResponseEntity.noContent().build();
     }
+
+    // Gotowe bajty z PropertyPageCache ida prosto do strumienia odpowiedzi, z pominieciem konwerterow
+    private static void writePage(PropertyPageCache.EncodedPage page, ServletWebRequest request) throws IOException {
+        HttpServletResponse response = request.getResponse();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, ConditionalRequests.REVALIDATE.getHeaderValue());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (request.checkNotModified(page.etag())) {
+            return;
+        }
+
+        byte[] body = page.body();
+        if (page.gzip() != null && ConditionalRequests.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = page.gzip();
+        }
+        response.setContentType(page.contentType().toString());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
 }
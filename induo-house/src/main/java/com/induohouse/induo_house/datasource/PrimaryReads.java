@@ -0,0 +1,49 @@
+package com.induohouse.induo_house.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// Odczyty, ktorych wynik zostaje w pamieci (cache, indeksy), ida na primary - wpis z odstajacej
+// repliki wisialby przez caly TTL. Wolajacy moze juz byc w transakcji readOnly z polaczeniem
+// do repliki, wiec odczyt dostaje wlasna transakcje, a ReplicaDataSource oddaje dla niej primary
+@Component
+public class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private final TransactionTemplate joined;
+    private final TransactionTemplate separate;
+    private final boolean routing;
+
+    public PrimaryReads(PlatformTransactionManager transactionManager,
+                        @Value("${app.datasource.replicas.enabled:false}") boolean routing) {
+        this.joined = new TransactionTemplate(transactionManager);
+        this.joined.setReadOnly(true);
+        this.separate = new TransactionTemplate(transactionManager);
+        this.separate.setReadOnly(true);
+        this.separate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.routing = routing;
+    }
+
+    static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    public <T> T call(Supplier<T> reader) {
+        // Bez replik wszystko czyta z primary, a zagniezdzony odczyt jest juz w transakcji na primary
+        if (!routing || isActive()) {
+            return joined.execute(status -> reader.get());
+        }
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return separate.execute(status -> reader.get());
+        } finally {
+            ACTIVE.remove();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.induohouse.induo_house.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.induohouse.induo_house.entity.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Po wlasnym zapisie uzytkownik przez krotkie okno czyta z primary - replika moze jeszcze
+// nie miec jego zmiany. Replika w rotacji odstaje najwyzej o max-lag plus czas do nastepnego
+// sprawdzenia monitora, wiec okno jest ich suma. Stan trzymany w pamieci instancji, jak pozostale cache
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replicas.max-lag:PT5S}") Duration maxLag,
+                                 @Value("${app.datasource.replicas.lag-check-interval:PT2S}") Duration checkInterval,
+                                 @Value("${app.datasource.read-your-writes.max-size:100000}") long maxSize) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(maxLag.plus(checkInterval))
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public void markWrite(Long userId) {
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    public boolean mustReadPrimary(Long userId) {
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // Anonimowe odczyty i watki bez kontekstu (harmonogramy, import) nie sa przyklejane
+    public boolean currentUserMustReadPrimary() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null
+                && authentication.getPrincipal() instanceof User user
+                && mustReadPrimary(user.getId());
+    }
+}
@@ -0,0 +1,39 @@
+package com.induohouse.induo_house.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Pula jednej repliki i jej ostatni znany stan; zdrowie ustawia ReplicaLagMonitor,
+// do pierwszego sprawdzenia replika nie dostaje ruchu
+final class Replica {
+
+    private final String name;
+    private final HikariDataSource dataSource;
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    Replica(String name, HikariDataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String name() {
+        return name;
+    }
+
+    HikariDataSource dataSource() {
+        return dataSource;
+    }
+
+    boolean isHealthy() {
+        return healthy;
+    }
+
+    double lagSeconds() {
+        return lagSeconds;
+    }
+
+    void update(boolean healthy, double lagSeconds) {
+        this.healthy = healthy;
+        this.lagSeconds = lagSeconds;
+    }
+}
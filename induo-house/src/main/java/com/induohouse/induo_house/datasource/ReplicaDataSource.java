@@ -0,0 +1,70 @@
+package com.induohouse.induo_house.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Zrodlo polaczen dla transakcji readOnly: kolejna zdrowa replika, a primary gdy odczyt napelnia
+// cache (PrimaryReads), uzytkownik niedawno zapisywal, zadna replika nie nadaza albo pula repliki
+// nie oddala polaczenia
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final ReplicaSet replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final Map<String, Counter> reads;
+
+    public ReplicaDataSource(DataSource primary, ReplicaSet replicas, ReadYourWritesTracker readYourWrites,
+                             MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.readYourWrites = readYourWrites;
+        this.reads = new HashMap<>();
+        this.reads.put(PRIMARY, readCounter(meterRegistry, PRIMARY));
+        replicas.replicas().forEach(replica -> reads.put(replica.name(), readCounter(meterRegistry, replica.name())));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!PrimaryReads.isActive() && !readYourWrites.currentUserMustReadPrimary()) {
+            Optional<Replica> replica = replicas.nextHealthy();
+            if (replica.isPresent()) {
+                try {
+                    Connection connection = replica.get().dataSource().getConnection();
+                    reads.get(replica.get().name()).increment();
+                    return connection;
+                } catch (SQLException e) {
+                    // Do nastepnego sprawdzenia monitora ruch idzie na pozostale repliki
+                    replica.get().update(false, replica.get().lagSeconds());
+                    log.warn("Replica {} refused connection, reading from primary: {}",
+                            replica.get().name(), e.getMessage());
+                }
+            }
+        }
+        reads.get(PRIMARY).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.reads")
+                .tag("target", target)
+                .description("Polaczenia transakcji tylko do odczytu wg zrodla")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,92 @@
+package com.induohouse.induo_house.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// Straznik opoznienia replikacji: replika odstajaca o wiecej niz maxLag (albo nieosiagalna)
+// wypada z routingu do kolejnego pomyslnego sprawdzenia
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Brak nowego WAL do odtworzenia = replika aktualna, nawet gdy ostatni commit byl dawno - ale tylko
+    // przy dzialajacym odbiorniku WAL. Po zerwaniu strumienia receive i replay tez sa rowne, a replika
+    // stoi w miejscu, wiec dostaje nieskonczone opoznienie. Bez roli pg_read_all_stats status jest NULL,
+    // wtedy sama obecnosc procesu odbiornika znaczy, ze strumien jest zestawiony.
+    // Instancja poza recovery (np. lokalny kontener zamiast repliki) nie ma opoznienia
+    static final String LAG_SQL = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver r
+                                 WHERE r.status IS NULL OR r.status = 'streaming') THEN 'Infinity'::float8
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())::float8, 0)
+            END""";
+
+    private static final int CHECK_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaSet replicas;
+    private final double maxLagSeconds;
+
+    public ReplicaLagMonitor(ReplicaSet replicas, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        for (Replica replica : replicas.replicas()) {
+            Gauge.builder("datasource.replica.lag", replica, Replica::lagSeconds)
+                    .tag("replica", replica.name())
+                    .baseUnit("seconds")
+                    .description("Opoznienie replikacji z ostatniego sprawdzenia")
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval:PT2S}")
+    public void check() {
+        replicas.replicas().forEach(this::check);
+    }
+
+    void check(Replica replica) {
+        boolean wasHealthy = replica.isHealthy();
+        double lag;
+        try {
+            lag = measureLag(replica);
+        } catch (SQLException e) {
+            replica.update(false, Double.NaN);
+            if (wasHealthy) {
+                log.warn("Replica {} unreachable, reads go to primary: {}", replica.name(), e.getMessage());
+            }
+            return;
+        }
+
+        boolean healthy = lag <= maxLagSeconds;
+        replica.update(healthy, lag);
+        if (wasHealthy && Double.isInfinite(lag)) {
+            log.warn("Replica {} WAL receiver is not streaming, reads go to primary", replica.name());
+        } else if (wasHealthy && !healthy) {
+            log.warn("Replica {} lags {} s (limit {} s), reads go to primary", replica.name(), lag, maxLagSeconds);
+        } else if (!wasHealthy && healthy) {
+            log.info("Replica {} back in rotation, lag {} s", replica.name(), lag);
+        }
+    }
+
+    double measureLag(Replica replica) throws SQLException {
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(CHECK_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery(LAG_SQL)) {
+                result.next();
+                return result.getDouble(1);
+            }
+        }
+    }
+}
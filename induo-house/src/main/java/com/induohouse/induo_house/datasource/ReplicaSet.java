@@ -0,0 +1,62 @@
+package com.induohouse.induo_house.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReplicaSet implements AutoCloseable {
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaSet(List<Replica> replicas) {
+        this.replicas = List.copyOf(replicas);
+    }
+
+    // Pule startuja leniwie - niedostepna replika nie blokuje startu aplikacji, tylko nie dostaje ruchu
+    public static ReplicaSet create(List<String> urls, String username, String password,
+                                    int maximumPoolSize, Duration connectionTimeout) {
+        List<Replica> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(urls.get(i));
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setConnectionTimeout(connectionTimeout.toMillis());
+            config.setReadOnly(true);
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new Replica(name, new HikariDataSource(config)));
+        }
+        return new ReplicaSet(replicas);
+    }
+
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    // Round robin po zdrowych replikach; pusty, gdy wszystkie odstaja
+    Optional<Replica> nextHealthy() {
+        int size = replicas.size();
+        int start = next.getAndIncrement();
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, size));
+            if (replica.isHealthy()) {
+                return Optional.of(replica);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public void close() {
+        replicas.stream().map(Replica::dataSource).forEach(HikariDataSource::close);
+    }
+}
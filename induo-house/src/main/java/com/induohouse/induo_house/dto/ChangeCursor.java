@@ -0,0 +1,38 @@
+package com.induohouse.induo_house.dto;
+
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Pozycja w outboxie zmian: (id transakcji, id wiersza), dla klienta nieprzezroczysty token
+public record ChangeCursor(long txId, long changeId) implements Comparable<ChangeCursor> {
+
+    public static final ChangeCursor START = new ChangeCursor(0, 0);
+
+    private static final String SEPARATOR = "|";
+
+    public static ChangeCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int idx = raw.indexOf(SEPARATOR);
+            return new ChangeCursor(Long.parseLong(raw.substring(0, idx)), Long.parseLong(raw.substring(idx + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidRequestParameterException("Nieprawidlowy kursor zmian");
+        }
+    }
+
+    public String encode() {
+        String raw = txId + SEPARATOR + changeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int compareTo(ChangeCursor other) {
+        int byTx = Long.compare(txId, other.txId);
+        return byTx != 0 ? byTx : Long.compare(changeId, other.changeId);
+    }
+}
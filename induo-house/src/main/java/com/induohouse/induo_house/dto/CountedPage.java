@@ -0,0 +1,18 @@
+package com.induohouse.induo_house.dto;
+
+import lombok.Getter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+@Getter
+public class CountedPage<T> extends PageImpl<T> {
+
+    private final boolean approximate;
+
+    public CountedPage(List<T> content, Pageable pageable, long total, boolean approximate) {
+        super(content, pageable, total);
+        this.approximate = approximate;
+    }
+}
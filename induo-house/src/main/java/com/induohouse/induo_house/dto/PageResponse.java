@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 
 import java.util.List;
 
@@ -18,6 +19,8 @@ public class PageResponse<T> {
     private int totalPages;
     private boolean last;
     private boolean first;
+    private String nextCursor;
+    private boolean approximateTotal;
 
     public static <T> PageResponse<T> of(Page<T> page) {
         return new PageResponse<>(
@@ -27,7 +30,24 @@ public class PageResponse<T> {
                 page.getTotalElements(),
                 page.getTotalPages(),
                 page.isLast(),
-                page.isFirst()
+                page.isFirst(),
+                null,
+                page instanceof CountedPage<T> counted && counted.isApproximate()
+        );
+    }
+
+    // Kursor koduje wolajacy - format zalezy od encji, PageResponse go nie zna
+    public static <T> PageResponse<T> of(Window<T> window, int pageSize, boolean first, String nextCursor) {
+        return new PageResponse<>(
+                window.getContent(),
+                0,
+                pageSize,
+                -1,
+                -1,
+                !window.hasNext(),
+                first,
+                nextCursor,
+                false
         );
     }
 }
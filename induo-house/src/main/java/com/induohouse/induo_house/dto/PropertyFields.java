@@ -0,0 +1,92 @@
+package com.induohouse.induo_house.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Wybrane pola odpowiedzi (?view= albo ?fields=) - dla list ogranicza tez kolumny w SQL
+public record PropertyFields(Set<String> names, boolean full) {
+
+    public static final String FILTER = "propertyFields";
+
+    public static final List<String> LIST_FIELDS = List.of(
+            "id", "title", "price", "area", "city", "numberOfRooms", "latitude", "longitude",
+            "transactionType", "propertyType", "status", "thumbnailUrl", "createdAt", "updatedAt",
+            "ownerFirstName", "ownerLastName", "ownerPhoneNumber");
+
+    public static final List<String> DETAIL_FIELDS = List.of(
+            "id", "title", "description", "price", "area", "city", "street", "postalCode",
+            "numberOfRooms", "floor", "totalFloors", "latitude", "longitude", "transactionType",
+            "propertyType", "status", "images", "createdAt", "updatedAt", "owner");
+
+    private static final Map<String, List<String>> LIST_VIEWS = Map.of(
+            "card", List.of("id", "title", "price", "area", "city", "numberOfRooms",
+                    "transactionType", "propertyType", "thumbnailUrl", "createdAt"),
+            "map", List.of("id", "title", "price", "latitude", "longitude", "transactionType"),
+            "full", LIST_FIELDS);
+
+    public static final PropertyFields FULL_LIST = new PropertyFields(Set.copyOf(LIST_FIELDS), true);
+    public static final PropertyFields FULL_DETAIL = new PropertyFields(Set.copyOf(DETAIL_FIELDS), true);
+
+    public static PropertyFields forList(String view, String fields) {
+        if (hasText(fields)) {
+            return select(fields, LIST_FIELDS);
+        }
+        if (!hasText(view)) {
+            return FULL_LIST;
+        }
+        List<String> names = LIST_VIEWS.get(view.trim().toLowerCase());
+        if (names == null) {
+            throw new InvalidRequestParameterException("Nieznany widok: " + view + ", dostepne: " + LIST_VIEWS.keySet());
+        }
+        return names == LIST_FIELDS ? FULL_LIST : new PropertyFields(Set.copyOf(names), false);
+    }
+
+    public static PropertyFields forDetail(String fields) {
+        return hasText(fields) ? select(fields, DETAIL_FIELDS) : FULL_DETAIL;
+    }
+
+    public boolean includes(String name) {
+        return full || names.contains(name);
+    }
+
+    public String cacheKey() {
+        return full ? "*" : String.join(",", names.stream().sorted().toList());
+    }
+
+    public FilterProvider filterProvider() {
+        SimpleBeanPropertyFilter filter = full
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(names);
+        return new SimpleFilterProvider().addFilter(FILTER, filter);
+    }
+
+    private static PropertyFields select(String fields, List<String> allowed) {
+        // id zawsze - klient musi wiedziec, czego dotyczy wiersz
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new InvalidRequestParameterException("Nieznane pole: " + name);
+            }
+            names.add(name);
+        }
+        return names.size() == allowed.size()
+                ? new PropertyFields(Set.copyOf(allowed), true)
+                : new PropertyFields(Set.copyOf(names), false);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
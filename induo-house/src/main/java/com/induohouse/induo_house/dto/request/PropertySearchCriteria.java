@@ -0,0 +1,51 @@
+package com.induohouse.induo_house.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Objects;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertySearchCriteria {
+    private String q;
+    private String city;
+    private String propertyType;
+    private String transactionType;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal minArea;
+    private BigDecimal maxArea;
+    private Integer bedrooms;
+    private Double lat;
+    private Double lon;
+    private Double radiusKm;
+    private String bbox;
+
+    public String cacheKey() {
+        return String.join("|",
+                q == null ? "" : q.trim().toLowerCase(Locale.ROOT),
+                city == null ? "" : city.trim().toLowerCase(Locale.ROOT),
+                Objects.toString(propertyType, ""),
+                Objects.toString(transactionType, ""),
+                number(minPrice),
+                number(maxPrice),
+                number(minArea),
+                number(maxArea),
+                Objects.toString(bedrooms, ""),
+                Objects.toString(lat, ""),
+                Objects.toString(lon, ""),
+                Objects.toString(radiusKm, ""),
+                bbox == null ? "" : bbox.replace(" ", ""));
+    }
+
+    private static String number(BigDecimal value) {
+        return value == null ? "" : value.stripTrailingZeros().toPlainString();
+    }
+}
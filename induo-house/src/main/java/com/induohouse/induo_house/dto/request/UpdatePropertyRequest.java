@@ -51,6 +51,14 @@ public class UpdatePropertyRequest {
     @Max(value = 100, message = "Liczba pięter nie może być większa niż 100")
     private Integer totalFloors;
 
+    @DecimalMin(value = "-90.0", message = "Szerokość geograficzna musi być w zakresie -90..90")
+    @DecimalMax(value = "90.0", message = "Szerokość geograficzna musi być w zakresie -90..90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Długość geograficzna musi być w zakresie -180..180")
+    @DecimalMax(value = "180.0", message = "Długość geograficzna musi być w zakresie -180..180")
+    private Double longitude;
+
     @NotBlank(message = "Typ transakcji jest wymagany")
     @Pattern(regexp = "SALE|RENT", message = "Typ transakcji musi być SALE lub RENT")
     private String transactionType;
@@ -59,4 +67,8 @@ public class UpdatePropertyRequest {
     @Pattern(regexp = "APARTMENT|HOUSE|LAND", message = "Typ nieruchomości: APARTMENT, HOUSE lub LAND")
     private String propertyType;
 
+    // EXPIRED ustawia tylko harmonogram wygaszania
+    @Pattern(regexp = "ACTIVE|SOLD", message = "Status ogłoszenia: ACTIVE lub SOLD")
+    private String status;
+
 }
@@ -0,0 +1,6 @@
+package com.induohouse.induo_house.dto.response;
+
+import java.util.List;
+
+// next: kursor do kolejnego zapytania (since=next), takze gdy lista jest pusta
+public record ChangeFeedResponse(List<PropertyChangeDto> changes, String next, boolean hasMore) {}
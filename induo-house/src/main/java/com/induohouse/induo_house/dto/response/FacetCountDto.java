@@ -0,0 +1,3 @@
+package com.induohouse.induo_house.dto.response;
+
+public record FacetCountDto(String value, long count) {}
@@ -0,0 +1,4 @@
+package com.induohouse.induo_house.dto.response;
+
+// row: numer rekordu w pliku (w CSV naglowek to wiersz 1), field: null gdy blad dotyczy calego wiersza
+public record ImportRowErrorDto(long row, String field, String message) {}
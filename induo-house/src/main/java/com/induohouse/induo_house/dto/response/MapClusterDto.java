@@ -0,0 +1,12 @@
+package com.induohouse.induo_house.dto.response;
+
+import java.math.BigDecimal;
+
+public record MapClusterDto(
+        String geohash,
+        double latitude,
+        double longitude,
+        long count,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {}
@@ -0,0 +1,5 @@
+package com.induohouse.induo_house.dto.response;
+
+import java.util.List;
+
+public record PropertyBatchResponse(List<PropertyListResponse> items, List<Long> missingIds) {}
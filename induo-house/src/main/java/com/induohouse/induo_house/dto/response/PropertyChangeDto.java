@@ -0,0 +1,19 @@
+package com.induohouse.induo_house.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+
+import java.time.LocalDateTime;
+
+public record PropertyChangeDto(long id, @JsonIgnore long txId, Long propertyId, ChangeType type,
+                                LocalDateTime changedAt) {
+
+    public ChangeCursor position() {
+        return new ChangeCursor(txId, id);
+    }
+
+    public boolean affectsListing() {
+        return type != ChangeType.IMAGES_CHANGED;
+    }
+}
@@ -0,0 +1,13 @@
+package com.induohouse.induo_house.dto.response;
+
+import java.util.List;
+
+public record PropertyFacetsResponse(
+        long total,
+        List<FacetCountDto> cities,
+        List<FacetCountDto> propertyTypes,
+        List<FacetCountDto> transactionTypes,
+        List<FacetCountDto> rooms,
+        List<RangeFacetCountDto> priceRanges,
+        List<RangeFacetCountDto> areaRanges
+) {}
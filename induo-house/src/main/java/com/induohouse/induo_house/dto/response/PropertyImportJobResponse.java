@@ -0,0 +1,26 @@
+package com.induohouse.induo_house.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PropertyImportJobResponse(
+        String id,
+        Status status,
+        String format,
+        long processedRows,
+        long importedRows,
+        long failedRows,
+        List<ImportRowErrorDto> errors,
+        boolean errorsTruncated,
+        String message,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,12 +1,16 @@
 package com.induohouse.induo_house.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.induohouse.induo_house.dto.PropertyFields;
 import lombok.Getter;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Getter
 @Setter
+@JsonFilter(PropertyFields.FILTER)
 public class PropertyListResponse {
     private Long id;
     private String title;
@@ -14,10 +18,14 @@ public class PropertyListResponse {
     private BigDecimal area;
     private String city;
     private Integer numberOfRooms;
+    private Double latitude;
+    private Double longitude;
     private String transactionType;
     private String propertyType;
     private String status;
     private String thumbnailUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 
     private String ownerFirstName;
     private String ownerLastName;
@@ -1,5 +1,7 @@
 package com.induohouse.induo_house.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.induohouse.induo_house.dto.PropertyFields;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -9,6 +11,7 @@ import java.util.List;
 
 @Getter
 @Setter
+@JsonFilter(PropertyFields.FILTER)
 public class PropertyResponse {
     private Long id;
     private String title;
@@ -21,6 +24,8 @@ public class PropertyResponse {
     private Integer numberOfRooms;
     private Integer floor;
     private Integer totalFloors;
+    private Double latitude;
+    private Double longitude;
     private String transactionType;
     private String propertyType;
     private String status;
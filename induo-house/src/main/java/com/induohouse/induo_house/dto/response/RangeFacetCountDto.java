@@ -0,0 +1,5 @@
+package com.induohouse.induo_house.dto.response;
+
+import java.math.BigDecimal;
+
+public record RangeFacetCountDto(BigDecimal from, BigDecimal to, long count) {}
@@ -0,0 +1,9 @@
+package com.induohouse.induo_house.dto.response;
+
+public record SuggestionDto(Type type, String value, String city, long count) {
+
+    public enum Type {
+        CITY,
+        STREET
+    }
+}
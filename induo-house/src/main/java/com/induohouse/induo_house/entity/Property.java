@@ -1,8 +1,11 @@
 package com.induohouse.induo_house.entity;
 
+import com.induohouse.induo_house.geo.Geohash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,13 +16,16 @@ import java.util.List;
 
 @Entity
 @Table(name = "properties")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "properties")
 @Getter
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
 public class Property {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "properties_id_seq")
+    @SequenceGenerator(name = "properties_id_seq", sequenceName = "properties_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -28,6 +34,7 @@ public class Property {
 
     @OneToMany(mappedBy = "property", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("sortOrder ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "properties-images")
     private List<PropertyImage> images = new ArrayList<>();
 
     @Column(nullable = false, length = 255)
@@ -58,6 +65,13 @@ public class Property {
     private Integer totalFloors;
 
 
+    private Double latitude;
+
+    private Double longitude;
+
+    @Column(length = 12)
+    private String geohash;
+
     @Column(nullable = false, length = 20)
     private String transactionType;
 
@@ -77,4 +91,12 @@ public class Property {
     @UpdateTimestamp
     @Column(nullable = false)
     private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = latitude == null || longitude == null
+                ? null
+                : Geohash.encode(latitude, longitude, Geohash.MAX_PRECISION);
+    }
 }
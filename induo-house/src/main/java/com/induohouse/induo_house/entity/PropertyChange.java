@@ -0,0 +1,33 @@
+package com.induohouse.induo_house.entity;
+
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Wiersz outboxa - tylko do zapisu z JPA; tx_id i changed_at ustawia baza,
+// odczyt (kolejnosc wg tx_id) idzie natywnym SQL w PropertyChangeRepositoryImpl
+@Entity
+@Table(name = "property_changes")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PropertyChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_changes_id_seq")
+    @SequenceGenerator(name = "property_changes_id_seq", sequenceName = "property_changes_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long propertyId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ChangeType changeType;
+
+    public PropertyChange(Long propertyId, ChangeType changeType) {
+        this.propertyId = propertyId;
+        this.changeType = changeType;
+    }
+}
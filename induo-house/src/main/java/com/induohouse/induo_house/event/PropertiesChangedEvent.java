@@ -0,0 +1,10 @@
+package com.induohouse.induo_house.event;
+
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+
+import java.util.List;
+
+// Paczka zmian tego samego typu (import, wygaszanie, archiwizacja) - odbiorcy obsluguja
+// wszystkie id naraz zamiast wiersz po wierszu
+public record PropertiesChangedEvent(List<Long> propertyIds, ChangeType type) {
+}
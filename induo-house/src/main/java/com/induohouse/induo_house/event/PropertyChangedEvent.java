@@ -0,0 +1,15 @@
+package com.induohouse.induo_house.event;
+
+public record PropertyChangedEvent(Long propertyId, ChangeType type) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED,
+        IMAGES_CHANGED
+    }
+
+    public boolean affectsListing() {
+        return type != ChangeType.IMAGES_CHANGED;
+    }
+}
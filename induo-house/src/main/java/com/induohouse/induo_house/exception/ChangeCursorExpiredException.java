@@ -0,0 +1,7 @@
+package com.induohouse.induo_house.exception;
+
+public class ChangeCursorExpiredException extends RuntimeException {
+    public ChangeCursorExpiredException() {
+        super("Kursor zmian jest starszy niz przechowywana historia - zsynchronizuj dane od nowa przez eksport");
+    }
+}
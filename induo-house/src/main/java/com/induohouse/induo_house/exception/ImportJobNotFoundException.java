@@ -0,0 +1,7 @@
+package com.induohouse.induo_house.exception;
+
+public class ImportJobNotFoundException extends RuntimeException {
+    public ImportJobNotFoundException(String jobId) {
+        super("Zadanie importu " + jobId + " nie istnieje albo wygaslo");
+    }
+}
@@ -0,0 +1,7 @@
+package com.induohouse.induo_house.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
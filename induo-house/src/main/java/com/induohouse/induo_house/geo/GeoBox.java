@@ -0,0 +1,67 @@
+package com.induohouse.induo_house.geo;
+
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+
+public record GeoBox(double south, double west, double north, double east) {
+
+    private static final double KM_PER_DEGREE = 111.32;
+
+    // bbox w kolejnosci west,south,east,north (jak w GeoJSON)
+    public static GeoBox parse(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new InvalidRequestParameterException("bbox musi miec postac west,south,east,north");
+        }
+        double[] values = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                values[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestParameterException("bbox musi miec postac west,south,east,north");
+        }
+
+        GeoBox box = new GeoBox(values[1], values[0], values[3], values[2]);
+        if (!validLatitude(box.south) || !validLatitude(box.north)
+                || !validLongitude(box.west) || !validLongitude(box.east)
+                || box.south > box.north || box.west > box.east) {
+            throw new InvalidRequestParameterException("Nieprawidlowy zakres bbox: " + bbox);
+        }
+        return box;
+    }
+
+    public static GeoBox around(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(latitude));
+        double dLon = cos < 1e-6 ? 180 : radiusKm / (KM_PER_DEGREE * cos);
+        return new GeoBox(
+                Math.max(-90, latitude - dLat),
+                Math.max(-180, longitude - dLon),
+                Math.min(90, latitude + dLat),
+                Math.min(180, longitude + dLon));
+    }
+
+    public GeoBox intersect(GeoBox other) {
+        return new GeoBox(
+                Math.max(south, other.south),
+                Math.max(west, other.west),
+                Math.min(north, other.north),
+                Math.min(east, other.east));
+    }
+
+    public boolean isEmpty() {
+        return south > north || west > east;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        return latitude >= south && latitude <= north && longitude >= west && longitude <= east;
+    }
+
+    static boolean validLatitude(double value) {
+        return value >= -90 && value <= 90;
+    }
+
+    static boolean validLongitude(double value) {
+        return value >= -180 && value <= 180;
+    }
+}
@@ -0,0 +1,65 @@
+package com.induohouse.induo_house.geo;
+
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+
+import java.util.List;
+
+public record GeoFilter(GeoBox box, Double centerLat, Double centerLon, Double radiusKm) {
+
+    public static final double MAX_RADIUS_KM = 500;
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final int MAX_GEOHASH_CELLS = 16;
+
+    public static GeoFilter from(PropertySearchCriteria criteria) {
+        if (criteria == null) {
+            return null;
+        }
+        boolean hasRadius = criteria.getLat() != null || criteria.getLon() != null || criteria.getRadiusKm() != null;
+        boolean hasBox = criteria.getBbox() != null && !criteria.getBbox().isBlank();
+        if (!hasRadius && !hasBox) {
+            return null;
+        }
+
+        GeoBox box = hasBox ? GeoBox.parse(criteria.getBbox()) : null;
+        if (!hasRadius) {
+            return new GeoFilter(box, null, null, null);
+        }
+
+        Double lat = criteria.getLat();
+        Double lon = criteria.getLon();
+        Double radiusKm = criteria.getRadiusKm();
+        if (lat == null || lon == null || radiusKm == null) {
+            throw new InvalidRequestParameterException("Parametry lat, lon i radiusKm musza byc podane razem");
+        }
+        if (!GeoBox.validLatitude(lat) || !GeoBox.validLongitude(lon)) {
+            throw new InvalidRequestParameterException("Nieprawidlowe wspolrzedne: " + lat + "," + lon);
+        }
+        if (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM) {
+            throw new InvalidRequestParameterException("radiusKm musi byc w zakresie (0, " + (int) MAX_RADIUS_KM + "]");
+        }
+
+        GeoBox circle = GeoBox.around(lat, lon, radiusKm);
+        return new GeoFilter(box == null ? circle : box.intersect(circle), lat, lon, radiusKm);
+    }
+
+    public boolean matches(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || Double.isNaN(longitude) || box.isEmpty() || !box.contains(latitude, longitude)) {
+            return false;
+        }
+        return radiusKm == null || distanceKm(centerLat, centerLon, latitude, longitude) <= radiusKm;
+    }
+
+    public List<String> geohashCells() {
+        return box.isEmpty() ? List.of() : Geohash.covering(box, MAX_GEOHASH_CELLS);
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,101 @@
+package com.induohouse.induo_house.geo;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class Geohash {
+
+    public static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private Geohash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lonBit = true;
+        int bits = 0;
+        int value = 0;
+
+        while (hash.length() < precision) {
+            if (lonBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (longitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLon = mid;
+                } else {
+                    value <<= 1;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    value = (value << 1) | 1;
+                    minLat = mid;
+                } else {
+                    value <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lonBit = !lonBit;
+            if (++bits == 5) {
+                hash.append(BASE32[value]);
+                bits = 0;
+                value = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static double cellHeight(int precision) {
+        return 180.0 / (1L << (5 * precision / 2));
+    }
+
+    public static double cellWidth(int precision) {
+        return 360.0 / (1L << ((5 * precision + 1) / 2));
+    }
+
+    // Najdokladniejszy zestaw komorek (max maxCells), ktory w calosci pokrywa prostokat
+    public static List<String> covering(GeoBox box, int maxCells) {
+        int precision = 1;
+        for (int p = 2; p <= MAX_PRECISION; p++) {
+            if (cellCount(box, p) > maxCells) {
+                break;
+            }
+            precision = p;
+        }
+        return cells(box, precision);
+    }
+
+    public static List<String> cells(GeoBox box, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+        for (long row = rowIndex(box.south(), precision); row <= rowIndex(box.north(), precision); row++) {
+            for (long col = colIndex(box.west(), precision); col <= colIndex(box.east(), precision); col++) {
+                cells.add(encode(-90 + (row + 0.5) * height, -180 + (col + 0.5) * width, precision));
+            }
+        }
+        return List.copyOf(cells);
+    }
+
+    public static long cellCount(GeoBox box, int precision) {
+        long rows = rowIndex(box.north(), precision) - rowIndex(box.south(), precision) + 1;
+        long cols = colIndex(box.east(), precision) - colIndex(box.west(), precision) + 1;
+        return rows * cols;
+    }
+
+    private static long rowIndex(double latitude, int precision) {
+        long max = (1L << (5 * precision / 2)) - 1;
+        return Math.min(max, (long) Math.floor((latitude + 90) / cellHeight(precision)));
+    }
+
+    private static long colIndex(double longitude, int precision) {
+        long max = (1L << ((5 * precision + 1) / 2)) - 1;
+        return Math.min(max, (long) Math.floor((longitude + 180) / cellWidth(precision)));
+    }
+}
@@ -28,6 +28,8 @@ public class PropertyMapper {
         property.setNumberOfRooms(request.getNumberOfRooms());
         property.setFloor(request.getFloor());
         property.setTotalFloors(request.getTotalFloors());
+        property.setLatitude(request.getLatitude());
+        property.setLongitude(request.getLongitude());
         property.setTransactionType(request.getTransactionType());
         property.setPropertyType(request.getPropertyType());
         property.setStatus("ACTIVE");
@@ -50,6 +52,8 @@ public class PropertyMapper {
         response.setNumberOfRooms(property.getNumberOfRooms());
         response.setFloor(property.getFloor());
         response.setTotalFloors(property.getTotalFloors());
+        response.setLatitude(property.getLatitude());
+        response.setLongitude(property.getLongitude());
         response.setTransactionType(property.getTransactionType());
         response.setPropertyType(property.getPropertyType());
         response.setStatus(property.getStatus());
@@ -82,17 +86,19 @@ public class PropertyMapper {
 
         PropertyListResponse response = new PropertyListResponse();
 
-        response.setId(property.getId());
-        response.setTitle(property.getTitle());
         response.setId(property.getId());
         response.setTitle(property.getTitle());
         response.setPrice(property.getPrice());
         response.setArea(property.getArea());
         response.setCity(property.getCity());
         response.setNumberOfRooms(property.getNumberOfRooms());
+        response.setLatitude(property.getLatitude());
+        response.setLongitude(property.getLongitude());
         response.setTransactionType(property.getTransactionType());
         response.setPropertyType(property.getPropertyType());
         response.setStatus(property.getStatus());
+        response.setCreatedAt(property.getCreatedAt());
+        response.setUpdatedAt(property.getUpdatedAt());
         property.getImages().stream()
                 .filter(PropertyImage::isPrimary)
                 .findFirst()
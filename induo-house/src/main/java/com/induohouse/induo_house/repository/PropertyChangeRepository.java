@@ -0,0 +1,9 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.entity.PropertyChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PropertyChangeRepository extends JpaRepository<PropertyChange, Long>, PropertyChangeRepositoryCustom {
+}
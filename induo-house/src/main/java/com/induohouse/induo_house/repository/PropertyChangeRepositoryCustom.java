@@ -0,0 +1,37 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface PropertyChangeRepositoryCustom {
+
+    // Tylko zmiany z transakcji, ktore juz sie zakonczyly - w kolejnosci (tx_id, id)
+    List<PropertyChangeDto> findSettledAfter(ChangeCursor after, int limit);
+
+    // Ostatnia zmiana starsza niz cutoff - granica sprzatania outboxa
+    Optional<ChangeCursor> findLastBefore(LocalDateTime cutoff);
+
+    int deleteThrough(ChangeCursor horizon);
+
+    Optional<ChangeCursor> findCheckpoint(String subscriber);
+
+    // Tworzy brakujacy checkpoint i blokuje go do konca transakcji;
+    // pusty, gdy ten sam odbiorca jest wlasnie obslugiwany przez inna instancje
+    Optional<ChangeCursor> lockCheckpoint(String subscriber);
+
+    void saveCheckpoint(String subscriber, ChangeCursor position);
+
+    // Ustawia checkpoint na ostatnia rozstrzygnieta zmiane - odbiorca pominie cala dotychczasowa historie
+    void resetCheckpointToHead(String subscriber);
+
+    // Znak zycia instancji - odswieza updated_at bez przesuwania pozycji
+    int touchCheckpoints(Collection<String> subscribers);
+
+    // Checkpointy odbiorcow pasujacych do wzorca LIKE, ktore nie ruszyly sie od cutoff
+    int deleteCheckpointsIdleBefore(String subscriberPattern, LocalDateTime cutoff);
+}
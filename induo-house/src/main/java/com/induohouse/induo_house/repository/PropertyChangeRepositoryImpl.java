@@ -0,0 +1,175 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import org.hibernate.query.NativeQuery;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public class PropertyChangeRepositoryImpl implements PropertyChangeRepositoryCustom {
+
+    // Transakcje starsze niz najstarsza otwarta sa zakonczone, a nowe dostana wieksze tx_id -
+    // za ta granica kolejnosc (tx_id, id) juz sie nie zmieni
+    private static final String SETTLED = "c.tx_id < pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    private static final String QUERY_SPACE = "property_changes";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PropertyChangeDto> findSettledAfter(ChangeCursor after, int limit) {
+        List<Tuple> rows = nativeQuery("""
+                SELECT c.id, c.tx_id, c.property_id, c.change_type, c.changed_at
+                FROM property_changes c
+                WHERE %s AND (c.tx_id, c.id) > (:txId, :changeId)
+                ORDER BY c.tx_id, c.id
+                LIMIT :limit""".formatted(SETTLED), Tuple.class)
+                .setParameter("txId", after.txId())
+                .setParameter("changeId", after.changeId())
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new PropertyChangeDto(
+                        ((Number) row.get("id")).longValue(),
+                        ((Number) row.get("tx_id")).longValue(),
+                        ((Number) row.get("property_id")).longValue(),
+                        ChangeType.valueOf((String) row.get("change_type")),
+                        toLocalDateTime(row.get("changed_at"))))
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ChangeCursor> findLastBefore(LocalDateTime cutoff) {
+        List<Tuple> rows = nativeQuery("""
+                SELECT c.tx_id, c.id
+                FROM property_changes c
+                WHERE %s AND c.changed_at < :cutoff
+                ORDER BY c.tx_id DESC, c.id DESC
+                LIMIT 1""".formatted(SETTLED), Tuple.class)
+                .setParameter("cutoff", cutoff)
+                .getResultList();
+        return rows.stream().findFirst().map(PropertyChangeRepositoryImpl::toCursor);
+    }
+
+    @Override
+    public int deleteThrough(ChangeCursor horizon) {
+        return nativeQuery(
+                        "DELETE FROM property_changes c WHERE (c.tx_id, c.id) <= (:txId, :changeId)")
+                .setParameter("txId", horizon.txId())
+                .setParameter("changeId", horizon.changeId())
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ChangeCursor> findCheckpoint(String subscriber) {
+        List<Tuple> rows = nativeQuery(
+                        "SELECT tx_id, change_id AS id FROM property_change_checkpoints WHERE subscriber = :subscriber",
+                        Tuple.class)
+                .setParameter("subscriber", subscriber)
+                .getResultList();
+        return rows.stream().findFirst().map(PropertyChangeRepositoryImpl::toCursor);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ChangeCursor> lockCheckpoint(String subscriber) {
+        nativeQuery("""
+                        INSERT INTO property_change_checkpoints (subscriber) VALUES (:subscriber)
+                        ON CONFLICT (subscriber) DO NOTHING""")
+                .setParameter("subscriber", subscriber)
+                .executeUpdate();
+        List<Tuple> rows = nativeQuery("""
+                        SELECT tx_id, change_id AS id FROM property_change_checkpoints
+                        WHERE subscriber = :subscriber
+                        FOR UPDATE SKIP LOCKED""", Tuple.class)
+                .setParameter("subscriber", subscriber)
+                .getResultList();
+        return rows.stream().findFirst().map(PropertyChangeRepositoryImpl::toCursor);
+    }
+
+    @Override
+    public void saveCheckpoint(String subscriber, ChangeCursor position) {
+        nativeQuery("""
+                        INSERT INTO property_change_checkpoints (subscriber, tx_id, change_id, updated_at)
+                        VALUES (:subscriber, :txId, :changeId, CURRENT_TIMESTAMP)
+                        ON CONFLICT (subscriber) DO UPDATE
+                        SET tx_id = EXCLUDED.tx_id, change_id = EXCLUDED.change_id, updated_at = EXCLUDED.updated_at""")
+                .setParameter("subscriber", subscriber)
+                .setParameter("txId", position.txId())
+                .setParameter("changeId", position.changeId())
+                .executeUpdate();
+    }
+
+    @Override
+    public void resetCheckpointToHead(String subscriber) {
+        nativeQuery("""
+                        INSERT INTO property_change_checkpoints (subscriber, tx_id, change_id, updated_at)
+                        SELECT :subscriber, COALESCE(MAX(h.tx_id), 0), COALESCE(MAX(h.id), 0), CURRENT_TIMESTAMP
+                        FROM (SELECT c.tx_id, c.id
+                              FROM property_changes c
+                              WHERE %s
+                              ORDER BY c.tx_id DESC, c.id DESC
+                              LIMIT 1) h
+                        ON CONFLICT (subscriber) DO UPDATE
+                        SET tx_id = EXCLUDED.tx_id, change_id = EXCLUDED.change_id, updated_at = EXCLUDED.updated_at"""
+                        .formatted(SETTLED))
+                .setParameter("subscriber", subscriber)
+                .executeUpdate();
+    }
+
+    @Override
+    public int touchCheckpoints(Collection<String> subscribers) {
+        return nativeQuery("""
+                        UPDATE property_change_checkpoints SET updated_at = CURRENT_TIMESTAMP
+                        WHERE subscriber IN (:subscribers)""")
+                .setParameter("subscribers", subscribers)
+                .executeUpdate();
+    }
+
+    @Override
+    public int deleteCheckpointsIdleBefore(String subscriberPattern, LocalDateTime cutoff) {
+        return nativeQuery("""
+                        DELETE FROM property_change_checkpoints
+                        WHERE subscriber LIKE :pattern AND updated_at < :cutoff""")
+                .setParameter("pattern", subscriberPattern)
+                .setParameter("cutoff", cutoff)
+                .executeUpdate();
+    }
+
+    // Bez przestrzeni zapytania Hibernate czysci caly cache L2 po kazdym natywnym DML
+    private Query nativeQuery(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE);
+    }
+
+    private Query nativeQuery(String sql, Class<?> resultClass) {
+        return entityManager.createNativeQuery(sql, resultClass)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(QUERY_SPACE);
+    }
+
+    private static ChangeCursor toCursor(Tuple row) {
+        return new ChangeCursor(((Number) row.get("tx_id")).longValue(), ((Number) row.get("id")).longValue());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.induohouse.induo_house.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PropertyExportRow(
+        Long id,
+        String title,
+        String transactionType,
+        String propertyType,
+        BigDecimal price,
+        BigDecimal area,
+        String city,
+        String street,
+        String postalCode,
+        Integer numberOfRooms,
+        Integer floor,
+        Integer totalFloors,
+        Double latitude,
+        Double longitude,
+        String imageUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,18 @@
+package com.induohouse.induo_house.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record PropertyIndexRow(
+        Long id,
+        String city,
+        String street,
+        String propertyType,
+        String transactionType,
+        BigDecimal price,
+        BigDecimal area,
+        Integer numberOfRooms,
+        Double latitude,
+        Double longitude,
+        LocalDateTime createdAt
+) {}
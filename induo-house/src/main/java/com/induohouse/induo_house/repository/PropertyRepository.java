@@ -10,11 +10,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, PropertyRepositoryCustom {
 
     List<Property> findByCity(String city);
     List<Property> findByPrice(BigDecimal price);
@@ -38,11 +39,27 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
     @Query("SELECT p FROM Property p WHERE p.id = :id")
     Optional<Property> findByIdWithImages(@Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"images", "user"})
-    @Query("SELECT p FROM Property p WHERE p.propertyType = :type")
-    Page<Property> findByPropertyTypeWithDetails(
-            @Param("type") String type, Pageable pageable
-    );
+    @Query("SELECT p.updatedAt FROM Property p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Same id stron - wiersze listy dociaga jednym zapytaniem findListingsByIds.
+    // Publiczne listy pokazuja tylko aktywne ogloszenia, "moje" wszystkie
+    @Query("SELECT p.id FROM Property p WHERE p.city = :city AND p.status = 'ACTIVE'")
+    Page<Long> findIdsByCity(@Param("city") String city, Pageable pageable);
+
+    @Query("SELECT p.id FROM Property p WHERE p.propertyType = :type AND p.status = 'ACTIVE'")
+    Page<Long> findIdsByPropertyType(@Param("type") String type, Pageable pageable);
+
+    @Query("SELECT p.id FROM Property p WHERE p.user.id = :userId")
+    Page<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Property p WHERE p.user.id = :userId AND p.status = 'ACTIVE'")
+    Page<Long> findActiveIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT p.id FROM Property p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.status = 'ACTIVE'")
+    Page<Long> findIdsByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                     @Param("maxPrice") BigDecimal maxPrice,
+                                     Pageable pageable);
 
     @EntityGraph(attributePaths = {"images", "user"})
     @Query("SELECT p FROM Property p ORDER BY p.createdAt DESC")
@@ -54,40 +71,4 @@ public interface PropertyRepository extends JpaRepository<Property, Long> {
             @Param("propertyType") String propertyType,
             Pageable pageable
     );
-
-    @Query(value = """
-        SELECT * FROM properties p
-        WHERE (:city        IS NULL OR p.city             ILIKE '%' || :city || '%')
-          AND (:propertyType    IS NULL OR p.property_type    = :propertyType)
-          AND (:transactionType IS NULL OR p.transaction_type = :transactionType)
-          AND (:minPrice    IS NULL OR p.price  >= :minPrice)
-          AND (:maxPrice    IS NULL OR p.price  <= :maxPrice)
-          AND (:minArea     IS NULL OR p.area   >= :minArea)
-          AND (:maxArea     IS NULL OR p.area   <= :maxArea)
-          AND (:bedrooms    IS NULL OR p.number_of_rooms >= :bedrooms)
-        ORDER BY p.created_at DESC
-        """,
-            countQuery = """
-        SELECT COUNT(*) FROM properties p
-        WHERE (:city        IS NULL OR p.city             ILIKE '%' || :city || '%')
-          AND (:propertyType    IS NULL OR p.property_type    = :propertyType)
-          AND (:transactionType IS NULL OR p.transaction_type = :transactionType)
-          AND (:minPrice    IS NULL OR p.price  >= :minPrice)
-          AND (:maxPrice    IS NULL OR p.price  <= :maxPrice)
-          AND (:minArea     IS NULL OR p.area   >= :minArea)
-          AND (:maxArea     IS NULL OR p.area   <= :maxArea)
-          AND (:bedrooms    IS NULL OR p.number_of_rooms >= :bedrooms)
-        """,
-            nativeQuery = true)
-    Page<Property> findWithFilters(
-            @Param("city")            String city,
-            @Param("propertyType")    String propertyType,
-            @Param("transactionType") String transactionType,
-            @Param("minPrice")        BigDecimal minPrice,
-            @Param("maxPrice")        BigDecimal maxPrice,
-            @Param("minArea")         BigDecimal minArea,
-            @Param("maxArea")         BigDecimal maxArea,
-            @Param("bedrooms")        Integer bedrooms,
-            Pageable pageable
-    );
 }
@@ -0,0 +1,48 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.PropertyFields;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.MapClusterDto;
+import com.induohouse.induo_house.dto.response.PropertyFacetsResponse;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface PropertyRepositoryCustom {
+
+    List<PropertyListResponse> search(PropertySearchCriteria criteria, Pageable pageable, PropertyFields fields);
+
+    default List<PropertyListResponse> search(PropertySearchCriteria criteria, Pageable pageable) {
+        return search(criteria, pageable, PropertyFields.FULL_LIST);
+    }
+
+    List<PropertyListResponse> searchAfter(PropertySearchCriteria criteria, PropertyCursor cursor, int limit,
+                                           PropertyFields fields);
+
+    long count(PropertySearchCriteria criteria);
+
+    long estimateCount(PropertySearchCriteria criteria);
+
+    PropertyFacetsResponse facets(PropertySearchCriteria criteria);
+
+    // Zapasowa sciezka dla mapy, gdy indeks w pamieci jest wylaczony albo jeszcze sie buduje
+    List<MapClusterDto> findMapClusters(Collection<String> cells, int precision, String transactionType);
+
+    List<PropertyListResponse> findListingsByIds(Collection<Long> ids, PropertyFields fields);
+
+    List<PropertyIndexRow> findIndexRows(Collection<Long> ids);
+
+    Stream<PropertyIndexRow> streamIndexRows();
+
+    Stream<PropertyExportRow> streamActiveForExport();
+
+    // Cykl zycia - obie metody wymagaja transakcji i zwracaja id przetworzonych ogloszen
+    List<Long> expireActiveBefore(LocalDateTime cutoff, int limit);
+
+    List<Long> archiveClosedBefore(LocalDateTime cutoff, int limit);
+}
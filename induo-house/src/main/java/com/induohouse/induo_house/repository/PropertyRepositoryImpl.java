@@ -0,0 +1,495 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.PropertyFields;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.FacetCountDto;
+import com.induohouse.induo_house.dto.response.MapClusterDto;
+import com.induohouse.induo_house.dto.response.PropertyFacetsResponse;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.dto.response.RangeFacetCountDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.PropertyImage;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PropertyRepositoryImpl implements PropertyRepositoryCustom {
+
+    // Kolumny listy wg pola PropertyListResponse; id i created_at sa wybierane zawsze
+    // (kolejnosc po hydracji z indeksu i kursor stronicowania)
+    private static final Map<String, String> LISTING_COLUMNS = listingColumns();
+
+    private static final List<String> OWNER_FIELDS = List.of("ownerFirstName", "ownerLastName", "ownerPhoneNumber");
+
+    private static final String THUMBNAIL_JOIN = """
+             LEFT JOIN LATERAL (
+                SELECT i.url FROM property_images i
+                WHERE i.property_id = p.id AND i.is_primary
+                ORDER BY i.sort_order
+                LIMIT 1
+            ) thumb ON TRUE""";
+
+    static final List<BigDecimal> PRICE_BUCKETS = decimals(
+            1_000, 2_000, 3_000, 5_000, 10_000,
+            100_000, 250_000, 400_000, 600_000, 800_000, 1_000_000, 1_500_000, 2_000_000);
+
+    static final List<BigDecimal> AREA_BUCKETS = decimals(25, 40, 60, 80, 100, 150, 200, 500, 1_000);
+
+    private static final int MAX_CITY_FACETS = 50;
+
+    private static final String INDEX_SELECT = """
+            SELECT p.id, p.city, p.street, p.property_type, p.transaction_type, p.price, p.area,
+                   p.number_of_rooms, p.latitude, p.longitude, p.created_at
+            FROM properties p
+            WHERE p.status = 'ACTIVE'""";
+
+    private static final int INDEX_FETCH_SIZE = 1000;
+
+    // Kolejnosc po kluczu glownym - plan bez sortowania, wiersze plyna od razu
+    private static final String EXPORT_SELECT = """
+            SELECT p.id, p.title, p.transaction_type, p.property_type, p.price, p.area, p.city, p.street,
+                   p.postal_code, p.number_of_rooms, p.floor, p.total_floors, p.latitude, p.longitude,
+                   thumb.url AS image_url, p.created_at, p.updated_at
+            FROM properties p%s
+            WHERE p.status = 'ACTIVE'
+            ORDER BY p.id""".formatted(THUMBNAIL_JOIN);
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    // SKIP LOCKED - wiersz edytowany wlasnie przez wlasciciela wejdzie w nastepna paczke
+    private static final String LOCK_EXPIRED_CANDIDATES = """
+            SELECT p.id FROM properties p
+            WHERE p.status = 'ACTIVE' AND p.updated_at < :cutoff
+            ORDER BY p.updated_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String LOCK_ARCHIVE_CANDIDATES = """
+            SELECT p.id FROM properties p
+            WHERE p.status <> 'ACTIVE' AND p.updated_at < :cutoff
+            ORDER BY p.updated_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""";
+
+    private static final String ARCHIVE_PROPERTIES = """
+            INSERT INTO properties_archive (id, user_id, title, description, price, area, city, street, postal_code,
+                                            number_of_rooms, floor, total_floors, latitude, longitude, geohash,
+                                            transaction_type, property_type, status, image_url, created_at, updated_at)
+            SELECT id, user_id, title, description, price, area, city, street, postal_code,
+                   number_of_rooms, floor, total_floors, latitude, longitude, geohash,
+                   transaction_type, property_type, status, image_url, created_at, updated_at
+            FROM properties WHERE id IN (:ids)""";
+
+    private static final String ARCHIVE_IMAGES = """
+            INSERT INTO property_images_archive (id, property_id, url, is_primary, sort_order, created_at)
+            SELECT id, property_id, url, is_primary, sort_order, created_at
+            FROM property_images WHERE property_id IN (:ids)""";
+
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\"\\s*:\\s*(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PropertyListResponse> search(PropertySearchCriteria criteria, Pageable pageable,
+                                             PropertyFields fields) {
+        PropertySearchSql sql = PropertySearchSql.from(criteria);
+
+        Query query = entityManager.createNativeQuery(
+                listingSelect(fields) + sql.whereClause()
+                        + sql.orderClause(pageable.getSort())
+                        + " LIMIT :limit OFFSET :offset",
+                Tuple.class);
+        sql.bind(query);
+        query.setParameter("limit", pageable.getPageSize());
+        query.setParameter("offset", pageable.getOffset());
+
+        return toListResponses(query);
+    }
+
+    @Override
+    public List<PropertyListResponse> searchAfter(PropertySearchCriteria criteria, PropertyCursor cursor, int limit,
+                                                  PropertyFields fields) {
+        PropertySearchSql sql = PropertySearchSql.from(criteria).after(cursor);
+
+        Query query = entityManager.createNativeQuery(
+                listingSelect(fields) + sql.whereClause()
+                        + PropertySearchSql.orderBy(Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id")))
+                        + " LIMIT :limit",
+                Tuple.class);
+        sql.bind(query);
+        query.setParameter("limit", limit);
+
+        return toListResponses(query);
+    }
+
+    @Override
+    public long count(PropertySearchCriteria criteria) {
+        PropertySearchSql sql = PropertySearchSql.from(criteria);
+
+        Query query = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM properties p" + sql.whereClause());
+        sql.bind(query);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long estimateCount(PropertySearchCriteria criteria) {
+        PropertySearchSql sql = PropertySearchSql.from(criteria);
+
+        Query query = entityManager.createNativeQuery(
+                "EXPLAIN (FORMAT JSON) SELECT 1 FROM properties p" + sql.whereClause());
+        sql.bind(query);
+
+        Matcher matcher = PLAN_ROWS.matcher(String.valueOf(query.getSingleResult()));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    // Ta sama semantyka co indeks: wszystkie oferty z komorek nachodzacych na widok, bez przycinania do bbox
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<MapClusterDto> findMapClusters(Collection<String> cells, int precision, String transactionType) {
+        if (cells.isEmpty()) {
+            return List.of();
+        }
+        boolean byTransaction = transactionType != null && !transactionType.isBlank();
+        Query query = entityManager.createNativeQuery("""
+                SELECT left(p.geohash, :precision) AS cell, COUNT(*) AS cnt,
+                       AVG(p.latitude) AS lat, AVG(p.longitude) AS lon,
+                       MIN(p.price) AS min_price, MAX(p.price) AS max_price
+                FROM properties p
+                WHERE p.status = 'ACTIVE' AND p.geohash IS NOT NULL
+                  AND left(p.geohash, :precision) IN (:cells)%s
+                GROUP BY cell
+                ORDER BY cnt DESC""".formatted(byTransaction ? " AND p.transaction_type = :transactionType" : ""),
+                Tuple.class);
+        query.setParameter("precision", precision);
+        query.setParameter("cells", cells);
+        if (byTransaction) {
+            query.setParameter("transactionType", transactionType);
+        }
+        return ((List<Tuple>) query.getResultList()).stream()
+                .map(row -> new MapClusterDto(
+                        (String) row.get("cell"),
+                        ((Number) row.get("lat")).doubleValue(),
+                        ((Number) row.get("lon")).doubleValue(),
+                        ((Number) row.get("cnt")).longValue(),
+                        (BigDecimal) row.get("min_price"),
+                        (BigDecimal) row.get("max_price")))
+                .toList();
+    }
+
+    @Override
+    public List<PropertyListResponse> findListingsByIds(Collection<Long> ids, PropertyFields fields) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = entityManager.createNativeQuery(listingSelect(fields) + " WHERE p.id IN (:ids)", Tuple.class);
+        query.setParameter("ids", ids);
+        return toListResponses(query);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<PropertyIndexRow> findIndexRows(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Query query = entityManager.createNativeQuery(INDEX_SELECT + " AND p.id IN (:ids)", Tuple.class);
+        query.setParameter("ids", ids);
+        return ((List<Tuple>) query.getResultList()).stream()
+                .map(PropertyRepositoryImpl::toIndexRow)
+                .toList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<PropertyIndexRow> streamIndexRows() {
+        Query query = entityManager.createNativeQuery(INDEX_SELECT, Tuple.class);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, INDEX_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return ((Stream<Tuple>) query.getResultStream()).map(PropertyRepositoryImpl::toIndexRow);
+    }
+
+    // Kursor tylko do przodu, porcjami po EXPORT_FETCH_SIZE; wiersze to krotki, nie encje,
+    // wiec kontekst persystencji nie rosnie. Wymaga otwartej transakcji (kursor PostgreSQL)
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<PropertyExportRow> streamActiveForExport() {
+        Query query = entityManager.createNativeQuery(EXPORT_SELECT, Tuple.class);
+        query.setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE);
+        query.setHint(HibernateHints.HINT_READ_ONLY, true);
+        return ((Stream<Tuple>) query.getResultStream()).map(PropertyRepositoryImpl::toExportRow);
+    }
+
+    @Override
+    public List<Long> expireActiveBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ids = lockIds(LOCK_EXPIRED_CANDIDATES, cutoff, limit);
+        if (!ids.isEmpty()) {
+            lifecycleUpdate("UPDATE properties SET status = 'EXPIRED', updated_at = CURRENT_TIMESTAMP WHERE id IN (:ids)")
+                    .setParameter("ids", ids)
+                    .executeUpdate();
+        }
+        return ids;
+    }
+
+    // Kopia do archiwum i usuniecie w jednej transakcji; zdjecia znikaja z property_images przez ON DELETE CASCADE
+    @Override
+    public List<Long> archiveClosedBefore(LocalDateTime cutoff, int limit) {
+        List<Long> ids = lockIds(LOCK_ARCHIVE_CANDIDATES, cutoff, limit);
+        if (!ids.isEmpty()) {
+            lifecycleUpdate(ARCHIVE_PROPERTIES).setParameter("ids", ids).executeUpdate();
+            lifecycleUpdate(ARCHIVE_IMAGES).setParameter("ids", ids).executeUpdate();
+            lifecycleUpdate("DELETE FROM properties WHERE id IN (:ids)").setParameter("ids", ids).executeUpdate();
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> lockIds(String sql, LocalDateTime cutoff, int limit) {
+        List<Number> ids = entityManager.createNativeQuery(sql)
+                .setParameter("cutoff", cutoff)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    // Po DML Hibernate czysci tylko regiony L2 ogloszen i zdjec, a nie caly cache
+    private Query lifecycleUpdate(String sql) {
+        return entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Property.class)
+                .addSynchronizedEntityClass(PropertyImage.class);
+    }
+
+    private static PropertyExportRow toExportRow(Tuple row) {
+        return new PropertyExportRow(
+                ((Number) row.get("id")).longValue(),
+                (String) row.get("title"),
+                (String) row.get("transaction_type"),
+                (String) row.get("property_type"),
+                (BigDecimal) row.get("price"),
+                (BigDecimal) row.get("area"),
+                (String) row.get("city"),
+                (String) row.get("street"),
+                (String) row.get("postal_code"),
+                toInteger(row.get("number_of_rooms")),
+                toInteger(row.get("floor")),
+                toInteger(row.get("total_floors")),
+                toDouble(row.get("latitude")),
+                toDouble(row.get("longitude")),
+                (String) row.get("image_url"),
+                toLocalDateTime(row.get("created_at")),
+                toLocalDateTime(row.get("updated_at")));
+    }
+
+    private static PropertyIndexRow toIndexRow(Tuple row) {
+        return new PropertyIndexRow(
+                ((Number) row.get("id")).longValue(),
+                (String) row.get("city"),
+                (String) row.get("street"),
+                (String) row.get("property_type"),
+                (String) row.get("transaction_type"),
+                (BigDecimal) row.get("price"),
+                (BigDecimal) row.get("area"),
+                row.get("number_of_rooms") == null ? null : ((Number) row.get("number_of_rooms")).intValue(),
+                toDouble(row.get("latitude")),
+                toDouble(row.get("longitude")),
+                toLocalDateTime(row.get("created_at")));
+    }
+
+    private static Double toDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PropertyListResponse> toListResponses(Query query) {
+        return ((List<Tuple>) query.getResultList()).stream()
+                .map(PropertyRepositoryImpl::toListResponse)
+                .toList();
+    }
+
+    static String listingSelect(PropertyFields fields) {
+        List<String> columns = new ArrayList<>(List.of("p.id", "p.created_at"));
+        LISTING_COLUMNS.forEach((field, column) -> {
+            if (fields.includes(field)) {
+                columns.add(column);
+            }
+        });
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", columns))
+                .append(" FROM properties p");
+        if (OWNER_FIELDS.stream().anyMatch(fields::includes)) {
+            sql.append(" JOIN users u ON u.id = p.user_id");
+        }
+        if (fields.includes("thumbnailUrl")) {
+            sql.append(THUMBNAIL_JOIN);
+        }
+        return sql.toString();
+    }
+
+    private static Map<String, String> listingColumns() {
+        Map<String, String> columns = new LinkedHashMap<>();
+        columns.put("title", "p.title");
+        columns.put("price", "p.price");
+        columns.put("area", "p.area");
+        columns.put("city", "p.city");
+        columns.put("numberOfRooms", "p.number_of_rooms");
+        columns.put("latitude", "p.latitude");
+        columns.put("longitude", "p.longitude");
+        columns.put("transactionType", "p.transaction_type");
+        columns.put("propertyType", "p.property_type");
+        columns.put("status", "p.status");
+        columns.put("updatedAt", "p.updated_at");
+        columns.put("thumbnailUrl", "thumb.url AS thumbnail_url");
+        columns.put("ownerFirstName", "u.first_name");
+        columns.put("ownerLastName", "u.last_name");
+        columns.put("ownerPhoneNumber", "u.phone_number");
+        return columns;
+    }
+
+    private static PropertyListResponse toListResponse(Tuple row) {
+        PropertyListResponse response = new PropertyListResponse();
+        for (TupleElement<?> element : row.getElements()) {
+            Object value = row.get(element);
+            switch (element.getAlias()) {
+                case "id" -> response.setId(((Number) value).longValue());
+                case "title" -> response.setTitle((String) value);
+                case "price" -> response.setPrice((BigDecimal) value);
+                case "area" -> response.setArea((BigDecimal) value);
+                case "city" -> response.setCity((String) value);
+                case "number_of_rooms" -> response.setNumberOfRooms(value == null ? null : ((Number) value).intValue());
+                case "latitude" -> response.setLatitude(toDouble(value));
+                case "longitude" -> response.setLongitude(toDouble(value));
+                case "transaction_type" -> response.setTransactionType((String) value);
+                case "property_type" -> response.setPropertyType((String) value);
+                case "status" -> response.setStatus((String) value);
+                case "created_at" -> response.setCreatedAt(toLocalDateTime(value));
+                case "updated_at" -> response.setUpdatedAt(toLocalDateTime(value));
+                case "thumbnail_url" -> response.setThumbnailUrl((String) value);
+                case "first_name" -> response.setOwnerFirstName((String) value);
+                case "last_name" -> response.setOwnerLastName((String) value);
+                case "phone_number" -> response.setOwnerPhoneNumber((String) value);
+                default -> throw new IllegalStateException("Nieoczekiwana kolumna: " + element.getAlias());
+            }
+        }
+        return response;
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public PropertyFacetsResponse facets(PropertySearchCriteria criteria) {
+        PropertySearchSql sql = PropertySearchSql.from(criteria);
+
+        Query query = entityManager.createNativeQuery("""
+                SELECT city, property_type, transaction_type, number_of_rooms, price_bucket, area_bucket,
+                       GROUPING(city, property_type, transaction_type, number_of_rooms, price_bucket, area_bucket) AS grp,
+                       COUNT(*) AS cnt
+                FROM (
+                    SELECT p.city, p.property_type, p.transaction_type, p.number_of_rooms,
+                           width_bucket(p.price, %s) AS price_bucket,
+                           width_bucket(p.area, %s) AS area_bucket
+                    FROM properties p%s
+                ) f
+                GROUP BY GROUPING SETS ((city), (property_type), (transaction_type), (number_of_rooms),
+                                        (price_bucket), (area_bucket), ())
+                """.formatted(sqlArray(PRICE_BUCKETS), sqlArray(AREA_BUCKETS), sql.whereClause()),
+                Tuple.class);
+        sql.bind(query);
+
+        long total = 0;
+        List<FacetCountDto> cities = new ArrayList<>();
+        List<FacetCountDto> propertyTypes = new ArrayList<>();
+        List<FacetCountDto> transactionTypes = new ArrayList<>();
+        List<FacetCountDto> rooms = new ArrayList<>();
+        List<RangeFacetCountDto> priceRanges = new ArrayList<>();
+        List<RangeFacetCountDto> areaRanges = new ArrayList<>();
+
+        for (Tuple row : (List<Tuple>) query.getResultList()) {
+            int grp = ((Number) row.get("grp")).intValue();
+            long count = ((Number) row.get("cnt")).longValue();
+            switch (grp) {
+                case 0b011111 -> cities.add(new FacetCountDto((String) row.get("city"), count));
+                case 0b101111 -> propertyTypes.add(new FacetCountDto((String) row.get("property_type"), count));
+                case 0b110111 -> transactionTypes.add(new FacetCountDto((String) row.get("transaction_type"), count));
+                case 0b111011 -> {
+                    if (row.get("number_of_rooms") != null) {
+                        rooms.add(new FacetCountDto(row.get("number_of_rooms").toString(), count));
+                    }
+                }
+                case 0b111101 -> priceRanges.add(range(PRICE_BUCKETS, row.get("price_bucket"), count));
+                case 0b111110 -> areaRanges.add(range(AREA_BUCKETS, row.get("area_bucket"), count));
+                default -> total = count;
+            }
+        }
+
+        Comparator<FacetCountDto> byCountDesc = Comparator.comparingLong(FacetCountDto::count).reversed();
+        Comparator<RangeFacetCountDto> byLowerBound = Comparator.comparing(
+                RangeFacetCountDto::from, Comparator.nullsFirst(Comparator.naturalOrder()));
+        cities.sort(byCountDesc);
+        propertyTypes.sort(byCountDesc);
+        transactionTypes.sort(byCountDesc);
+        rooms.sort(Comparator.comparing(facet -> Integer.parseInt(facet.value())));
+        priceRanges.sort(byLowerBound);
+        areaRanges.sort(byLowerBound);
+
+        return new PropertyFacetsResponse(
+                total,
+                cities.size() > MAX_CITY_FACETS ? cities.subList(0, MAX_CITY_FACETS) : cities,
+                propertyTypes,
+                transactionTypes,
+                rooms,
+                priceRanges,
+                areaRanges);
+    }
+
+    private static RangeFacetCountDto range(List<BigDecimal> bounds, Object bucket, long count) {
+        int index = ((Number) bucket).intValue();
+        BigDecimal from = index == 0 ? null : bounds.get(index - 1);
+        BigDecimal to = index >= bounds.size() ? null : bounds.get(index);
+        return new RangeFacetCountDto(from, to, count);
+    }
+
+    private static String sqlArray(List<BigDecimal> bounds) {
+        return bounds.stream()
+                .map(BigDecimal::toPlainString)
+                .collect(Collectors.joining(",", "ARRAY[", "]::numeric[]"));
+    }
+
+    private static List<BigDecimal> decimals(long... values) {
+        return Arrays.stream(values).mapToObj(BigDecimal::valueOf).toList();
+    }
+}
@@ -0,0 +1,189 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.geo.GeoFilter;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+final class PropertySearchSql {
+
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at",
+            "price", "p.price",
+            "area", "p.area",
+            "numberOfRooms", "p.number_of_rooms",
+            "title", "p.title",
+            "city", "p.city",
+            "id", "p.id"
+    );
+
+    static final int MAX_QUERY_LENGTH = 200;
+
+    private static final String TS_QUERY = "to_tsquery('public.polish_unaccent', :q)";
+    private static final Pattern QUERY_TOKEN = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private final List<String> predicates = new ArrayList<>();
+    private final Map<String, Object> params = new LinkedHashMap<>();
+    private boolean ranked;
+
+    // Wyszukiwarka widzi tylko aktywne ogloszenia; literal (nie parametr), zeby planner
+    // dopasowal czesciowe indeksy WHERE status = 'ACTIVE'
+    private PropertySearchSql() {
+        predicates.add("p.status = 'ACTIVE'");
+    }
+
+    static PropertySearchSql from(PropertySearchCriteria criteria) {
+        PropertySearchSql sql = new PropertySearchSql();
+        if (criteria == null) {
+            return sql;
+        }
+
+        if (hasText(criteria.getCity())) {
+            sql.where("lower(immutable_unaccent(p.city)) LIKE '%' || lower(immutable_unaccent(:city)) || '%'",
+                    "city", criteria.getCity().trim());
+        }
+        if (hasText(criteria.getQ())) {
+            String q = criteria.getQ().trim();
+            if (q.length() > MAX_QUERY_LENGTH) {
+                throw new InvalidRequestParameterException(
+                        "Zapytanie q moze miec maksymalnie " + MAX_QUERY_LENGTH + " znakow");
+            }
+            String tsQuery = prefixQuery(q);
+            if (tsQuery != null) {
+                sql.where("p.search_vector @@ " + TS_QUERY, "q", tsQuery);
+                sql.ranked = true;
+            }
+        }
+        if (hasText(criteria.getPropertyType())) {
+            sql.where("p.property_type = :propertyType", "propertyType", criteria.getPropertyType());
+        }
+        if (hasText(criteria.getTransactionType())) {
+            sql.where("p.transaction_type = :transactionType", "transactionType", criteria.getTransactionType());
+        }
+        if (criteria.getMinPrice() != null) {
+            sql.where("p.price >= :minPrice", "minPrice", criteria.getMinPrice());
+        }
+        if (criteria.getMaxPrice() != null) {
+            sql.where("p.price <= :maxPrice", "maxPrice", criteria.getMaxPrice());
+        }
+        if (criteria.getMinArea() != null) {
+            sql.where("p.area >= :minArea", "minArea", criteria.getMinArea());
+        }
+        if (criteria.getMaxArea() != null) {
+            sql.where("p.area <= :maxArea", "maxArea", criteria.getMaxArea());
+        }
+        if (criteria.getBedrooms() != null) {
+            sql.where("p.number_of_rooms >= :bedrooms", "bedrooms", criteria.getBedrooms());
+        }
+        GeoFilter geo = GeoFilter.from(criteria);
+        if (geo != null) {
+            sql.within(geo);
+        }
+        return sql;
+    }
+
+    // Bez polskiego stemmera dopasowujemy prefiksy: "balkon" znajdzie tez "balkonem"
+    static String prefixQuery(String q) {
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = QUERY_TOKEN.matcher(q);
+        while (matcher.find()) {
+            terms.add(matcher.group() + ":*");
+        }
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    PropertySearchSql after(PropertyCursor cursor) {
+        if (cursor != null) {
+            predicates.add("(p.created_at, p.id) < (:afterCreatedAt, :afterId)");
+            params.put("afterCreatedAt", cursor.createdAt());
+            params.put("afterId", cursor.id());
+        }
+        return this;
+    }
+
+    // Komorki geohash wchodza do SQL jako literaly, zeby planner mogl uzyc indeksu dla LIKE 'prefix%'
+    private void within(GeoFilter geo) {
+        List<String> cells = geo.geohashCells();
+        if (cells.isEmpty()) {
+            predicates.add("FALSE");
+            return;
+        }
+        predicates.add(cells.stream()
+                .map(cell -> "p.geohash LIKE '" + cell + "%'")
+                .collect(Collectors.joining(" OR ", "(", ")")));
+
+        predicates.add("p.latitude BETWEEN :south AND :north AND p.longitude BETWEEN :west AND :east");
+        params.put("south", geo.box().south());
+        params.put("north", geo.box().north());
+        params.put("west", geo.box().west());
+        params.put("east", geo.box().east());
+
+        if (geo.radiusKm() != null) {
+            predicates.add("""
+                    2 * %s * asin(least(1, sqrt(
+                        power(sin(radians(p.latitude - :centerLat) / 2), 2)
+                        + cos(radians(:centerLat)) * cos(radians(p.latitude))
+                          * power(sin(radians(p.longitude - :centerLon) / 2), 2)))) <= :radiusKm"""
+                    .formatted(GeoFilter.EARTH_RADIUS_KM));
+            params.put("centerLat", geo.centerLat());
+            params.put("centerLon", geo.centerLon());
+            params.put("radiusKm", geo.radiusKm());
+        }
+    }
+
+    String whereClause() {
+        return " WHERE " + String.join(" AND ", predicates);
+    }
+
+    // Przy wyszukiwaniu pelnotekstowym bez jawnego sortowania - najtrafniejsze najpierw
+    String orderClause(Sort sort) {
+        if (ranked && sort.isUnsorted()) {
+            return " ORDER BY ts_rank(p.search_vector, " + TS_QUERY + ") DESC, p.created_at DESC, p.id DESC";
+        }
+        return orderBy(sort);
+    }
+
+    static String orderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        boolean hasId = false;
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new InvalidRequestParameterException("Nieobslugiwane pole sortowania: " + order.getProperty());
+            }
+            hasId |= column.equals("p.id");
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        if (orders.isEmpty()) {
+            orders.add("p.created_at DESC");
+        }
+        if (!hasId) {
+            orders.add("p.id DESC");
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    void bind(Query query) {
+        params.forEach(query::setParameter);
+    }
+
+    private void where(String predicate, String name, Object value) {
+        predicates.add(predicate);
+        params.put(name, value);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
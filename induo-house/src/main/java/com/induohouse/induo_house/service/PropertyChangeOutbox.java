@@ -0,0 +1,67 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.response.ChangeFeedResponse;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.entity.PropertyChange;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.exception.ChangeCursorExpiredException;
+import com.induohouse.induo_house.repository.PropertyChangeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Zapis zmian do outboxa w transakcji zmiany (MANDATORY - bez transakcji zmiana nie przejdzie)
+// i feed /api/changes dla odbiorcow spoza aplikacji
+@Slf4j
+@Service
+public class PropertyChangeOutbox {
+
+    public static final int MAX_FEED_SIZE = 1000;
+
+    // Checkpoint z granica sprzatania - kursory sprzed niej moglyby pominac usuniete zmiany
+    static final String PURGED_CHECKPOINT = "_purged";
+
+    private final PropertyChangeRepository changeRepository;
+
+    public PropertyChangeOutbox(PropertyChangeRepository changeRepository) {
+        this.changeRepository = changeRepository;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        changeRepository.save(new PropertyChange(event.propertyId(), event.type()));
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onPropertiesChanged(PropertiesChangedEvent event) {
+        changeRepository.saveAll(event.propertyIds().stream()
+                .map(id -> new PropertyChange(id, event.type()))
+                .toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeFeedResponse changesSince(String since, int limit) {
+        ChangeCursor after = ChangeCursor.decode(since);
+        int size = Math.max(1, Math.min(limit, MAX_FEED_SIZE));
+        if (!after.equals(ChangeCursor.START)) {
+            changeRepository.findCheckpoint(PURGED_CHECKPOINT)
+                    .filter(purged -> after.compareTo(purged) < 0)
+                    .ifPresent(purged -> {
+                        throw new ChangeCursorExpiredException();
+                    });
+        }
+
+        List<PropertyChangeDto> changes = changeRepository.findSettledAfter(after, size);
+        ChangeCursor next = changes.isEmpty() ? after : changes.getLast().position();
+        return new ChangeFeedResponse(changes, next.encode(), changes.size() == size);
+    }
+}
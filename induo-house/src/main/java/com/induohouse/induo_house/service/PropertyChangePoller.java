@@ -0,0 +1,158 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.repository.PropertyChangeRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+// Rozsyla zmiany z outboxa do odbiorcow w procesie: paczka, odbiorca, checkpoint - wszystko w jednej
+// transakcji trzymajacej blokade checkpointu. Blad odbiorcy cofa checkpoint, paczka wroci w kolejnym cyklu.
+// Odbiorcy perInstance (cache i indeksy w pamieci) maja checkpoint "nazwa@instancja", pozostali jeden wspolny
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.outbox.poller.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyChangePoller {
+
+    private final PropertyChangeRepository changeRepository;
+    private final TransactionTemplate transactionTemplate;
+    static final String INSTANCE_SEPARATOR = "@";
+
+    private final List<PropertyChangeSubscriber> subscribers;
+    private final String instanceId;
+    private final int batchSize;
+    private final int maxBatchesPerPoll;
+    private final Duration retention;
+
+    public PropertyChangePoller(PropertyChangeRepository changeRepository,
+                                TransactionTemplate transactionTemplate,
+                                ObjectProvider<PropertyChangeSubscriber> subscribers,
+                                @Value("${app.outbox.batch-size:500}") int batchSize,
+                                @Value("${app.outbox.max-batches-per-poll:20}") int maxBatchesPerPoll,
+                                @Value("${app.outbox.retention:P7D}") Duration retention,
+                                @Value("${app.outbox.instance-id:${random.uuid}}") String instanceId) {
+        this.changeRepository = changeRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.subscribers = subscribers.orderedStream().toList();
+        this.batchSize = batchSize;
+        this.maxBatchesPerPoll = maxBatchesPerPoll;
+        this.retention = retention;
+        this.instanceId = instanceId;
+        for (PropertyChangeSubscriber subscriber : this.subscribers) {
+            if (subscriber.name().startsWith("_") || subscriber.name().contains(INSTANCE_SEPARATOR)) {
+                throw new IllegalStateException("Subscriber name is reserved: " + subscriber.name());
+            }
+        }
+    }
+
+    String checkpoint(PropertyChangeSubscriber subscriber) {
+        return subscriber.perInstance() ? subscriber.name() + INSTANCE_SEPARATOR + instanceId : subscriber.name();
+    }
+
+    // Przed przebudowa indeksow na starcie - zmiany zapisane w trakcie przebudowy przyjda jeszcze z outboxa
+    @PostConstruct
+    void startPerInstanceSubscribers() {
+        transactionTemplate.executeWithoutResult(status -> subscribers.stream()
+                .filter(PropertyChangeSubscriber::perInstance)
+                .forEach(subscriber -> changeRepository.resetCheckpointToHead(checkpoint(subscriber))));
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void poll() {
+        for (PropertyChangeSubscriber subscriber : subscribers) {
+            try {
+                deliver(subscriber);
+            } catch (RuntimeException e) {
+                log.warn("Delivery to {} failed, batch will be retried: {}", subscriber.name(), e.getMessage());
+            }
+        }
+    }
+
+    // updated_at checkpointu zmienia sie przy dostarczeniu paczki, ale bez zmian w ogloszeniach
+    // checkpointy dzialajacej instancji stalyby w miejscu - purge uznalby je za porzucone
+    @Scheduled(fixedDelayString = "${app.outbox.heartbeat-interval:PT1H}")
+    public void heartbeat() {
+        List<String> checkpoints = subscribers.stream()
+                .filter(PropertyChangeSubscriber::perInstance)
+                .map(this::checkpoint)
+                .toList();
+        if (!checkpoints.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> changeRepository.touchCheckpoints(checkpoints));
+        }
+    }
+
+    int deliver(PropertyChangeSubscriber subscriber) {
+        int delivered = 0;
+        for (int i = 0; i < maxBatchesPerPoll; i++) {
+            Integer count = transactionTemplate.execute(status -> deliverBatch(subscriber));
+            if (count == null || count == 0) {
+                break;
+            }
+            delivered += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private int deliverBatch(PropertyChangeSubscriber subscriber) {
+        // Pusty = inna instancja wlasnie obsluguje tego odbiorce
+        Optional<ChangeCursor> checkpoint = changeRepository.lockCheckpoint(checkpoint(subscriber));
+        if (checkpoint.isEmpty()) {
+            return 0;
+        }
+        List<PropertyChangeDto> batch = changeRepository.findSettledAfter(checkpoint.get(), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        subscriber.onChanges(batch);
+        changeRepository.saveCheckpoint(checkpoint(subscriber), batch.getLast().position());
+        return batch.size();
+    }
+
+    // Usuwa zmiany starsze niz retencja, ale nigdy takie, ktorych ktorys odbiorca jeszcze nie dostal.
+    // Checkpointy instancji bez heartbeatu dluzej niz retencja naleza do wylaczonych instancji
+    @Scheduled(cron = "${app.outbox.cleanup-cron:0 30 3 * * *}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> {
+            changeRepository.deleteCheckpointsIdleBefore("%" + INSTANCE_SEPARATOR + "%", cutoff);
+            Optional<ChangeCursor> expired = changeRepository.findLastBefore(cutoff);
+            if (expired.isEmpty()) {
+                return 0;
+            }
+            ChangeCursor horizon = expired.get();
+            for (PropertyChangeSubscriber subscriber : subscribers) {
+                ChangeCursor checkpoint = changeRepository.findCheckpoint(checkpoint(subscriber)).orElse(ChangeCursor.START);
+                if (checkpoint.compareTo(horizon) < 0) {
+                    horizon = checkpoint;
+                }
+            }
+            if (horizon.equals(ChangeCursor.START)) {
+                return 0;
+            }
+            ChangeCursor purged = changeRepository.findCheckpoint(PropertyChangeOutbox.PURGED_CHECKPOINT)
+                    .orElse(ChangeCursor.START);
+            if (horizon.compareTo(purged) <= 0) {
+                return 0;
+            }
+            changeRepository.saveCheckpoint(PropertyChangeOutbox.PURGED_CHECKPOINT, horizon);
+            return changeRepository.deleteThrough(horizon);
+        });
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} outbox changes older than {}", deleted, retention);
+        }
+    }
+}
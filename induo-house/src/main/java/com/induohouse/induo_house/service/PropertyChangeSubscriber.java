@@ -0,0 +1,21 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+
+import java.util.List;
+
+// Odbiorca zmian z outboxa (indeksy, embeddingi, alerty). Dostawa co najmniej raz, w kolejnosci outboxa:
+// po bledzie ta sama paczka przychodzi ponownie, wiec obsluga musi byc idempotentna
+public interface PropertyChangeSubscriber {
+
+    // Klucz checkpointu - zmiana nazwy oznacza nowego odbiorce czytajacego outbox od poczatku
+    String name();
+
+    void onChanges(List<PropertyChangeDto> changes);
+
+    // Stan w pamieci tej instancji (cache, indeks): kazda instancja dostaje wszystkie zmiany pod wlasnym
+    // checkpointem i zaczyna od biezacej pozycji outboxa, bo jej stan i tak buduje sie od zera przy starcie
+    default boolean perInstance() {
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.induohouse.induo_house.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class PropertyCountCache implements PropertyChangeSubscriber {
+
+    private final Cache<String, Long> counts;
+    private final PrimaryReads primaryReads;
+
+    public PropertyCountCache(@Value("${app.search.count-cache.ttl:PT1M}") Duration ttl,
+                              @Value("${app.search.count-cache.max-size:10000}") long maxSize,
+                              PrimaryReads primaryReads) {
+        this.primaryReads = primaryReads;
+        this.counts = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public long get(PropertySearchCriteria criteria, LongSupplier loader) {
+        return counts.get(criteria == null ? "" : criteria.cacheKey(), key -> primaryReads.call(loader::getAsLong));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.affectsListing()) {
+            counts.invalidateAll();
+            log.debug("Count cache cleared after {} of property {}", event.type(), event.propertyId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesChanged(PropertiesChangedEvent event) {
+        counts.invalidateAll();
+        log.debug("Count cache cleared after {} of {} properties", event.type(), event.propertyIds().size());
+    }
+
+    @Override
+    public String name() {
+        return "count-cache";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void onChanges(List<PropertyChangeDto> changes) {
+        if (changes.stream().anyMatch(PropertyChangeDto::affectsListing)) {
+            counts.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.induohouse.induo_house.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.dto.response.PropertyResponse;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class PropertyDetailCache implements PropertyChangeSubscriber {
+
+    static final String CACHE_NAME = "property.details";
+
+    private final Cache<Long, PropertyResponse> details;
+    private final Counter invalidations;
+    private final PrimaryReads primaryReads;
+
+    public PropertyDetailCache(@Value("${app.cache.property-details.ttl:PT10M}") Duration ttl,
+                               @Value("${app.cache.property-details.max-size:5000}") long maxSize,
+                               MeterRegistry meterRegistry,
+                               PrimaryReads primaryReads) {
+        this.primaryReads = primaryReads;
+        this.details = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, details, CACHE_NAME);
+        // Statystyki Caffeine licza tylko eviction z limitu/TTL, jawne usuniecia liczymy osobno
+        this.invalidations = Counter.builder("cache.invalidations")
+                .tag("cache", CACHE_NAME)
+                .description("Wpisy usuniete z cache po zmianie ogloszenia")
+                .register(meterRegistry);
+    }
+
+    public PropertyResponse get(Long propertyId, Function<Long, PropertyResponse> loader) {
+        return details.get(propertyId, key -> primaryReads.call(() -> loader.apply(key)));
+    }
+
+    // Bez wplywu na statystyki hit/miss
+    public Optional<PropertyResponse> peek(Long propertyId) {
+        return Optional.ofNullable(details.asMap().get(propertyId));
+    }
+
+    public void evict(Long propertyId) {
+        details.invalidate(propertyId);
+        invalidations.increment();
+    }
+
+    // Druga eviction po commicie - odczyt rownolegly do transakcji mogl w miedzyczasie
+    // zaladowac jeszcze stara wersje z bazy
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        evict(event.propertyId());
+        log.debug("Detail cache entry {} evicted after {}", event.propertyId(), event.type());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesChanged(PropertiesChangedEvent event) {
+        event.propertyIds().forEach(this::evict);
+        log.debug("Detail cache evicted {} entries after {}", event.propertyIds().size(), event.type());
+    }
+
+    @Override
+    public String name() {
+        return "detail-cache";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    // Zmiany zapisane przez inne instancje aplikacji
+    @Override
+    public void onChanges(List<PropertyChangeDto> changes) {
+        changes.forEach(change -> evict(change.propertyId()));
+    }
+}
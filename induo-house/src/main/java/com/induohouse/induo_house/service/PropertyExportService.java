@@ -0,0 +1,174 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.exception.TooManyRequestsException;
+import com.induohouse.induo_house.repository.PropertyExportRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+// Pelny feed aktywnych ogloszen dla partnerow - wiersz po wierszu z kursora prosto do odpowiedzi,
+// pamiec nie zalezy od liczby ogloszen
+@Slf4j
+@Service
+public class PropertyExportService {
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv;charset=UTF-8", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String fileName() {
+            return "properties." + extension;
+        }
+
+        public static Format from(String value) {
+            return Arrays.stream(values())
+                    .filter(format -> format.extension.equalsIgnoreCase(value == null ? "" : value.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestParameterException(
+                            "Nieznany format pliku: " + value + ", dostepne: ndjson, csv"));
+        }
+    }
+
+    static final String CSV_HEADER = "id,title,transactionType,propertyType,price,area,city,street,postalCode,"
+            + "numberOfRooms,floor,totalFloors,latitude,longitude,imageUrl,createdAt,updatedAt";
+
+    private static final int WRITE_BUFFER = 64 * 1024;
+
+    private final PropertyRepository propertyRepository;
+    private final ObjectWriter ndjsonWriter;
+    private final Semaphore slots;
+    private final Duration retryAfter;
+
+    public PropertyExportService(PropertyRepository propertyRepository, ObjectMapper objectMapper,
+                                 @Value("${app.export.max-concurrent:2}") int maxConcurrent,
+                                 @Value("${app.export.retry-after:PT30S}") Duration retryAfter) {
+        this.propertyRepository = propertyRepository;
+        this.slots = new Semaphore(maxConcurrent);
+        this.retryAfter = retryAfter;
+        // Bez flush po kazdym wierszu - do klienta ida pelne bufory, nie pojedyncze wiersze
+        this.ndjsonWriter = objectMapper.writerFor(PropertyExportRow.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    // Zamykany po wyslaniu calego pliku
+    public interface Slot extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    // Eksport trzyma polaczenie z baza i watek przez caly transfer, wiec nadmiarowe zadania
+    // odrzucamy od razu zamiast kolejkowac. Wolajacy bierze slot przed ustawieniem naglowkow pliku
+    public Slot acquireSlot() {
+        if (!slots.tryAcquire()) {
+            throw new TooManyRequestsException("Trwa juz maksymalna liczba eksportow, sprobuj ponownie pozniej",
+                    retryAfter);
+        }
+        return slots::release;
+    }
+
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        long count;
+        try (Stream<PropertyExportRow> rows = propertyRepository.streamActiveForExport()) {
+            count = switch (format) {
+                case NDJSON -> writeNdjson(rows.iterator(), out);
+                case CSV -> writeCsv(rows.iterator(), out);
+            };
+        }
+        log.info("Exported {} properties as {} in {} ms", count, format, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    long writeNdjson(Iterator<PropertyExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = ndjsonWriter.createGenerator(out, JsonEncoding.UTF8)) {
+            // Strumien odpowiedzi zamyka kontener, nie generator
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                ndjsonWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    long writeCsv(Iterator<PropertyExportRow> rows, OutputStream out) throws IOException {
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        StringBuilder line = new StringBuilder(256);
+        while (rows.hasNext()) {
+            PropertyExportRow row = rows.next();
+            line.setLength(0);
+            appendCsv(line, row.id()).append(',');
+            appendCsv(line, row.title()).append(',');
+            appendCsv(line, row.transactionType()).append(',');
+            appendCsv(line, row.propertyType()).append(',');
+            appendCsv(line, row.price() == null ? null : row.price().toPlainString()).append(',');
+            appendCsv(line, row.area() == null ? null : row.area().toPlainString()).append(',');
+            appendCsv(line, row.city()).append(',');
+            appendCsv(line, row.street()).append(',');
+            appendCsv(line, row.postalCode()).append(',');
+            appendCsv(line, row.numberOfRooms()).append(',');
+            appendCsv(line, row.floor()).append(',');
+            appendCsv(line, row.totalFloors()).append(',');
+            appendCsv(line, row.latitude()).append(',');
+            appendCsv(line, row.longitude()).append(',');
+            appendCsv(line, row.imageUrl()).append(',');
+            appendCsv(line, row.createdAt()).append(',');
+            appendCsv(line, row.updatedAt()).append("\r\n");
+            writer.append(line);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // RFC 4180: pole w cudzyslowie, gdy zawiera separator, cudzyslow albo koniec linii
+    private static StringBuilder appendCsv(StringBuilder line, Object value) {
+        if (value == null) {
+            return line;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return line.append(text);
+        }
+        return line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+}
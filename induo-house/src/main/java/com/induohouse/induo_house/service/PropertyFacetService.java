@@ -0,0 +1,76 @@
+package com.induohouse.induo_house.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.dto.response.PropertyFacetsResponse;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+@Slf4j
+@Service
+public class PropertyFacetService implements PropertyChangeSubscriber {
+
+    private final PropertyRepository propertyRepository;
+    private final PrimaryReads primaryReads;
+    private final Cache<String, PropertyFacetsResponse> facets;
+
+    public PropertyFacetService(PropertyRepository propertyRepository,
+                                PrimaryReads primaryReads,
+                                @Value("${app.search.facets.ttl:PT30S}") Duration ttl,
+                                @Value("${app.search.facets.max-size:1000}") long maxSize) {
+        this.propertyRepository = propertyRepository;
+        this.primaryReads = primaryReads;
+        this.facets = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    // Trafienie w cache nie pobiera polaczenia z puli
+    public PropertyFacetsResponse getFacets(PropertySearchCriteria criteria) {
+        String key = criteria == null ? "" : criteria.cacheKey();
+        return facets.get(key, k -> primaryReads.call(() -> propertyRepository.facets(criteria)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (event.affectsListing()) {
+            facets.invalidateAll();
+            log.debug("Facet cache cleared after {} of property {}", event.type(), event.propertyId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesChanged(PropertiesChangedEvent event) {
+        facets.invalidateAll();
+        log.debug("Facet cache cleared after {} of {} properties", event.type(), event.propertyIds().size());
+    }
+
+    @Override
+    public String name() {
+        return "facet-cache";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void onChanges(List<PropertyChangeDto> changes) {
+        if (changes.stream().anyMatch(PropertyChangeDto::affectsListing)) {
+            facets.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.response.ImportRowErrorDto;
+import com.induohouse.induo_house.dto.response.PropertyImportJobResponse;
+import com.induohouse.induo_house.dto.response.PropertyImportJobResponse.Status;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Stan jednego importu: pisze watek importu, czytaja zapytania o status.
+// Lista bledow ma gorny limit, zeby plik z samymi blednymi wierszami nie zjadl pamieci
+final class PropertyImportJob {
+
+    private final String id = UUID.randomUUID().toString();
+    private final Long userId;
+    private final PropertyExportService.Format format;
+    private final int maxErrors;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    private final List<ImportRowErrorDto> errors = new ArrayList<>();
+    private Status status = Status.QUEUED;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private boolean errorsTruncated;
+    private String message;
+    private LocalDateTime finishedAt;
+
+    PropertyImportJob(Long userId, PropertyExportService.Format format, int maxErrors) {
+        this.userId = userId;
+        this.format = format;
+        this.maxErrors = maxErrors;
+    }
+
+    String id() {
+        return id;
+    }
+
+    Long userId() {
+        return userId;
+    }
+
+    PropertyExportService.Format format() {
+        return format;
+    }
+
+    synchronized void start() {
+        status = Status.RUNNING;
+    }
+
+    // Wiersz z kilkoma bledami liczy sie raz w failedRows, kazdy blad osobno na liscie
+    synchronized void rowFailed(Collection<ImportRowErrorDto> rowErrors) {
+        failedRows++;
+        for (ImportRowErrorDto error : rowErrors) {
+            if (errors.size() < maxErrors) {
+                errors.add(error);
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    synchronized void chunkDone(int processed, int imported) {
+        processedRows += processed;
+        importedRows += imported;
+    }
+
+    synchronized void complete() {
+        status = Status.COMPLETED;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized void fail(String reason) {
+        status = Status.FAILED;
+        message = reason;
+        finishedAt = LocalDateTime.now();
+    }
+
+    synchronized PropertyImportJobResponse snapshot() {
+        return new PropertyImportJobResponse(id, status, format.name().toLowerCase(), processedRows, importedRows,
+                failedRows, List.copyOf(errors), errorsTruncated, message, createdAt, finishedAt);
+    }
+}
@@ -0,0 +1,212 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.response.ImportRowErrorDto;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Czyta plik importu rekord po rekordzie - w pamieci jest tylko biezacy wiersz, nie caly plik
+abstract class PropertyImportReader implements Closeable {
+
+    // Gorna granica rekordu - niezamkniety cudzyslow nie wciagnie reszty pliku do pamieci
+    static final int MAX_RECORD_CHARS = 64 * 1024;
+
+    record Row(long number, CreatePropertyRequest request, ImportRowErrorDto error) {
+
+        static Row failed(long number, String field, String message) {
+            return new Row(number, null, new ImportRowErrorDto(number, field, message));
+        }
+    }
+
+    // Blad struktury pliku, po ktorym nie da sie czytac dalej
+    static final class MalformedFileException extends IOException {
+        MalformedFileException(String message) {
+            super(message);
+        }
+    }
+
+    protected final BufferedReader in;
+    protected final ObjectMapper objectMapper;
+
+    protected PropertyImportReader(BufferedReader in, ObjectMapper objectMapper) {
+        this.in = in;
+        this.objectMapper = objectMapper;
+    }
+
+    static PropertyImportReader open(PropertyExportService.Format format, BufferedReader in, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new Ndjson(in, objectMapper);
+            case CSV -> new Csv(in, objectMapper);
+        };
+    }
+
+    // null na koncu pliku
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    protected Row toRow(long number, JsonNode node) {
+        if (!node.isObject()) {
+            return Row.failed(number, null, "Wiersz musi byc obiektem JSON");
+        }
+        try {
+            return new Row(number, objectMapper.treeToValue(node, CreatePropertyRequest.class), null);
+        } catch (JsonMappingException e) {
+            String field = e.getPath().isEmpty() ? null : e.getPath().get(e.getPath().size() - 1).getFieldName();
+            return Row.failed(number, field, "Nieprawidlowa wartosc pola");
+        } catch (JsonProcessingException e) {
+            return Row.failed(number, null, "Nieprawidlowy wiersz");
+        }
+    }
+
+    private static final class Ndjson extends PropertyImportReader {
+
+        private final StringBuilder line = new StringBuilder(512);
+        private long lineNumber;
+
+        Ndjson(BufferedReader in, ObjectMapper objectMapper) {
+            super(in, objectMapper);
+        }
+
+        @Override
+        Row next() throws IOException {
+            String text;
+            do {
+                text = readLine();
+                if (text == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (text.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(text);
+            } catch (JsonProcessingException e) {
+                return Row.failed(lineNumber, null, "Nieprawidlowy JSON");
+            }
+            return toRow(lineNumber, node);
+        }
+
+        private String readLine() throws IOException {
+            line.setLength(0);
+            int c;
+            while ((c = in.read()) != -1 && c != '\n') {
+                if (line.length() == MAX_RECORD_CHARS) {
+                    throw new MalformedFileException("Wiersz " + (lineNumber + 1) + " jest za dlugi");
+                }
+                line.append((char) c);
+            }
+            if (c == -1 && line.isEmpty()) {
+                return null;
+            }
+            return line.toString();
+        }
+    }
+
+    // RFC 4180: pierwszy rekord to naglowek z nazwami pol CreatePropertyRequest,
+    // nieznane kolumny (np. id, createdAt z eksportu) sa pomijane, puste komorki to null
+    private static final class Csv extends PropertyImportReader {
+
+        private final StringBuilder cell = new StringBuilder(128);
+        private List<String> header;
+        private long recordNumber;
+
+        Csv(BufferedReader in, ObjectMapper objectMapper) {
+            super(in, objectMapper);
+        }
+
+        @Override
+        Row next() throws IOException {
+            if (header == null) {
+                header = readRecord();
+                if (header == null) {
+                    return null;
+                }
+                recordNumber++;
+                if (!header.isEmpty() && header.get(0).startsWith("\uFEFF")) {
+                    header.set(0, header.get(0).substring(1));
+                }
+                header.replaceAll(String::trim);
+            }
+
+            List<String> cells;
+            do {
+                cells = readRecord();
+                if (cells == null) {
+                    return null;
+                }
+                recordNumber++;
+            } while (cells.size() == 1 && cells.get(0).isEmpty());
+
+            if (cells.size() > header.size()) {
+                return Row.failed(recordNumber, null, "Wiersz ma wiecej kolumn niz naglowek");
+            }
+            ObjectNode node = objectMapper.createObjectNode();
+            for (int i = 0; i < cells.size(); i++) {
+                if (!cells.get(i).isBlank()) {
+                    node.put(header.get(i), cells.get(i));
+                }
+            }
+            return toRow(recordNumber, node);
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = in.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> cells = new ArrayList<>();
+            cell.setLength(0);
+            boolean quoted = false;
+            int length = 0;
+            while (true) {
+                if (++length > MAX_RECORD_CHARS) {
+                    throw new MalformedFileException("Rekord " + (recordNumber + 1) + " jest za dlugi");
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        throw new MalformedFileException("Niezamkniety cudzyslow w rekordzie " + (recordNumber + 1));
+                    }
+                    if (c == '"') {
+                        c = in.read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    }
+                    cell.append((char) c);
+                } else if (c == '"' && cell.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    cells.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        in.mark(1);
+                        if (in.read() != '\n') {
+                            in.reset();
+                        }
+                    }
+                    cells.add(cell.toString());
+                    return cells;
+                } else {
+                    cell.append((char) c);
+                }
+                c = in.read();
+            }
+        }
+    }
+}
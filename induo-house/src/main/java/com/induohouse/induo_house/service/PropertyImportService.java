@@ -0,0 +1,298 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.response.ImportRowErrorDto;
+import com.induohouse.induo_house.dto.response.PropertyImportJobResponse;
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.exception.ImportJobNotFoundException;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.exception.PropertyAccessDeniedException;
+import com.induohouse.induo_house.exception.TooManyRequestsException;
+import com.induohouse.induo_house.mapper.PropertyMapper;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import com.induohouse.induo_house.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Import zbiorczy ogloszen dla biur (AGENT): plik laduje na dysk, dalej czytany rekord po rekordzie
+// w paczkach - walidacja paczki rownolegle, zapis paczki w jednej transakcji z batchowanymi INSERT-ami.
+// Pamiec zalezy od rozmiaru paczki, nie od rozmiaru pliku
+@Slf4j
+@Service
+public class PropertyImportService {
+
+    private static final int COPY_BUFFER = 64 * 1024;
+
+    private final PropertyRepository propertyRepository;
+    private final UserRepository userRepository;
+    private final PropertyMapper propertyMapper;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final long maxFileBytes;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final Cache<String, PropertyImportJob> jobs;
+    private final Duration retryAfter;
+    private final ThreadPoolExecutor importExecutor;
+    private final ForkJoinPool validationPool;
+
+    public PropertyImportService(PropertyRepository propertyRepository,
+                                 UserRepository userRepository,
+                                 PropertyMapper propertyMapper,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${app.import.max-file-size:100MB}") DataSize maxFileSize,
+                                 @Value("${app.import.chunk-size:500}") int chunkSize,
+                                 @Value("${app.import.max-errors:1000}") int maxErrors,
+                                 @Value("${app.import.jobs.ttl:PT24H}") Duration jobTtl,
+                                 @Value("${app.import.jobs.max-size:1000}") long maxJobs,
+                                 @Value("${app.import.concurrent-jobs:2}") int concurrentJobs,
+                                 @Value("${app.import.queue-capacity:10}") int queueCapacity,
+                                 @Value("${app.import.retry-after:PT1M}") Duration retryAfter,
+                                 @Value("${app.import.validation-parallelism:4}") int validationParallelism) {
+        this.propertyRepository = propertyRepository;
+        this.userRepository = userRepository;
+        this.propertyMapper = propertyMapper;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobTtl)
+                .maximumSize(maxJobs)
+                .build();
+        this.retryAfter = retryAfter;
+        // Kolejka ograniczona - kazde czekajace zadanie to plik na dysku, wiec nadmiar odrzucamy od razu
+        this.importExecutor = new ThreadPoolExecutor(concurrentJobs, concurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("property-import-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.validationPool = new ForkJoinPool(validationParallelism);
+    }
+
+    public PropertyImportJobResponse start(PropertyExportService.Format format, InputStream body, User user) {
+        if (user.getRole() != User.Role.AGENT && user.getRole() != User.Role.ADMIN) {
+            throw new PropertyAccessDeniedException();
+        }
+        // Przy pelnej kolejce nie odbieramy pliku, ktory i tak zostalby odrzucony
+        if (importExecutor.getQueue().remainingCapacity() == 0) {
+            throw busy();
+        }
+        Path file = spool(body, format);
+        PropertyImportJob job = new PropertyImportJob(user.getId(), format, maxErrors);
+        jobs.put(job.id(), job);
+        try {
+            importExecutor.execute(() -> run(job, file));
+        } catch (RejectedExecutionException e) {
+            jobs.invalidate(job.id());
+            delete(file);
+            throw busy();
+        }
+        log.info("Import {} ({}) queued by user {}", job.id(), format, user.getId());
+        return job.snapshot();
+    }
+
+    private TooManyRequestsException busy() {
+        return new TooManyRequestsException("Zbyt wiele importow w kolejce, sprobuj ponownie pozniej", retryAfter);
+    }
+
+    // Cudzy import wyglada jak nieistniejacy - nie zdradzamy id zadan innych biur
+    public PropertyImportJobResponse getStatus(String jobId, User user) {
+        PropertyImportJob job = jobs.getIfPresent(jobId);
+        if (job == null || (!job.userId().equals(user.getId()) && user.getRole() != User.Role.ADMIN)) {
+            throw new ImportJobNotFoundException(jobId);
+        }
+        return job.snapshot();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        importExecutor.shutdownNow();
+        validationPool.shutdownNow();
+    }
+
+    // Zadanie przezywa zapytanie HTTP, wiec cialo trafia do pliku tymczasowego, a nie do pamieci
+    private Path spool(InputStream body, PropertyExportService.Format format) {
+        Path file = null;
+        try {
+            file = Files.createTempFile("property-import-", "." + format.name().toLowerCase());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[COPY_BUFFER];
+                long total = 0;
+                int read;
+                while ((read = body.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxFileBytes) {
+                        throw new InvalidRequestParameterException(
+                                "Plik importu przekracza limit " + DataSize.ofBytes(maxFileBytes).toMegabytes() + " MB");
+                    }
+                    out.write(buffer, 0, read);
+                }
+                if (total == 0) {
+                    throw new InvalidRequestParameterException("Plik importu jest pusty");
+                }
+            }
+            return file;
+        } catch (IOException e) {
+            delete(file);
+            throw new InvalidRequestParameterException("Nie udalo sie odebrac pliku importu");
+        } catch (RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+    }
+
+    void run(PropertyImportJob job, Path file) {
+        long start = System.nanoTime();
+        job.start();
+        try (PropertyImportReader reader = PropertyImportReader.open(job.format(),
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), objectMapper)) {
+            List<PropertyImportReader.Row> chunk = new ArrayList<>(chunkSize);
+            PropertyImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            importChunk(job, chunk);
+            job.complete();
+        } catch (PropertyImportReader.MalformedFileException e) {
+            job.fail(e.getMessage());
+        } catch (CharacterCodingException e) {
+            job.fail("Plik nie jest poprawnym tekstem UTF-8");
+        } catch (IOException e) {
+            log.warn("Import {} could not read file: {}", job.id(), e.getMessage());
+            job.fail("Nie udalo sie odczytac pliku importu");
+        } catch (RuntimeException e) {
+            log.error("Import {} failed", job.id(), e);
+            job.fail("Import przerwany przez nieoczekiwany blad");
+        } finally {
+            delete(file);
+        }
+        PropertyImportJobResponse result = job.snapshot();
+        log.info("Import {} {}: {} imported, {} failed in {} ms", job.id(), result.status(),
+                result.importedRows(), result.failedRows(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void importChunk(PropertyImportJob job, List<PropertyImportReader.Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<List<ImportRowErrorDto>> errors = validationPool.submit(() ->
+                rows.parallelStream().map(this::validate).toList()).join();
+
+        List<PropertyImportReader.Row> valid = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors.get(i).isEmpty()) {
+                valid.add(rows.get(i));
+            } else {
+                job.rowFailed(errors.get(i));
+            }
+        }
+        job.chunkDone(rows.size(), save(job, valid));
+    }
+
+    private List<ImportRowErrorDto> validate(PropertyImportReader.Row row) {
+        if (row.error() != null) {
+            return List.of(row.error());
+        }
+        return validator.validate(row.request()).stream()
+                .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+                .map(violation -> toError(row.number(), violation))
+                .toList();
+    }
+
+    private static ImportRowErrorDto toError(long row, ConstraintViolation<CreatePropertyRequest> violation) {
+        return new ImportRowErrorDto(row, violation.getPropertyPath().toString(), violation.getMessage());
+    }
+
+    // Cala paczka w jednej transakcji; gdy baza odrzuci paczke, wiersze ida pojedynczo,
+    // zeby jeden zly wiersz nie zablokowal pozostalych
+    private int save(PropertyImportJob job, List<PropertyImportReader.Row> rows) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        try {
+            return insert(job.userId(), rows);
+        } catch (RuntimeException e) {
+            log.warn("Import {} chunk of {} rows rejected, retrying row by row: {}", job.id(), rows.size(), e.getMessage());
+        }
+        int imported = 0;
+        for (PropertyImportReader.Row row : rows) {
+            try {
+                imported += insert(job.userId(), List.of(row));
+            } catch (RuntimeException e) {
+                job.rowFailed(List.of(new ImportRowErrorDto(row.number(), null, "Nie udalo sie zapisac wiersza")));
+            }
+        }
+        return imported;
+    }
+
+    private int insert(Long userId, List<PropertyImportReader.Row> rows) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            User owner = userRepository.getReferenceById(userId);
+            List<Property> properties = new ArrayList<>(rows.size());
+            for (PropertyImportReader.Row row : rows) {
+                Property property = propertyMapper.toEntity(row.request());
+                property.setUser(owner);
+                properties.add(property);
+            }
+            List<Long> saved = propertyRepository.saveAll(properties).stream().map(Property::getId).toList();
+            // Listenery ruszaja po commicie paczki, jednym zapytaniem na cala paczke
+            eventPublisher.publishEvent(new PropertiesChangedEvent(saved, ChangeType.CREATED));
+            return saved;
+        });
+        return ids == null ? 0 : ids.size();
+    }
+
+    private static void delete(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BiFunction;
+
+// Cykl zycia ogloszen: ACTIVE bez zmian dluzej niz TTL -> EXPIRED, a EXPIRED/SOLD po okresie karencji
+// do properties_archive. Kazda paczka w osobnej, krotkiej transakcji, zeby nie trzymac blokad na tysiacach wierszy
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.lifecycle.enabled", havingValue = "true", matchIfMissing = true)
+public class PropertyLifecycleService {
+
+    private final PropertyRepository propertyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration listingTtl;
+    private final Duration archiveAfter;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public PropertyLifecycleService(PropertyRepository propertyRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    ApplicationEventPublisher eventPublisher,
+                                    @Value("${app.lifecycle.listing-ttl:P60D}") Duration listingTtl,
+                                    @Value("${app.lifecycle.archive-after:P30D}") Duration archiveAfter,
+                                    @Value("${app.lifecycle.batch-size:500}") int batchSize,
+                                    @Value("${app.lifecycle.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.propertyRepository = propertyRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.listingTtl = listingTtl;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(cron = "${app.lifecycle.cron:0 15 2 * * *}")
+    public void run() {
+        try {
+            int expired = expire();
+            int archived = archive();
+            log.info("Listing lifecycle: {} expired, {} archived", expired, archived);
+        } catch (RuntimeException e) {
+            log.warn("Listing lifecycle run failed, will retry on next schedule: {}", e.getMessage());
+        }
+    }
+
+    int expire() {
+        return process(LocalDateTime.now().minus(listingTtl), propertyRepository::expireActiveBefore, ChangeType.UPDATED);
+    }
+
+    int archive() {
+        return process(LocalDateTime.now().minus(archiveAfter), propertyRepository::archiveClosedBefore, ChangeType.DELETED);
+    }
+
+    // Zdarzenie w transakcji paczki: outbox zapisuje zmiany razem z nia, cache i indeksy odswiezaja sie po commicie
+    private int process(LocalDateTime cutoff, BiFunction<LocalDateTime, Integer, List<Long>> step, ChangeType type) {
+        int total = 0;
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                List<Long> batch = step.apply(cutoff, batchSize);
+                if (!batch.isEmpty()) {
+                    eventPublisher.publishEvent(new PropertiesChangedEvent(batch, type));
+                }
+                return batch;
+            });
+            if (ids == null || ids.isEmpty()) {
+                break;
+            }
+            total += ids.size();
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
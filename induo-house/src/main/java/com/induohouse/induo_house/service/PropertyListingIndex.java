@@ -0,0 +1,336 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.geo.GeoFilter;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+@Component
+public class PropertyListingIndex extends PropertyRowIndex<PropertyListingIndex.Columns> {
+
+    private static final int NO_ROOMS = Integer.MIN_VALUE;
+    private static final Set<String> SORTABLE = Set.of("createdAt", "price", "area", "id");
+
+    public record Hits(List<Long> ids, long total) {}
+
+    public PropertyListingIndex(PropertyRepository propertyRepository,
+                                PrimaryReads primaryReads,
+                                @Value("${app.search.index.enabled:true}") boolean enabled) {
+        super(propertyRepository, primaryReads, enabled);
+    }
+
+    public int size() {
+        return read(columns -> columns.live.getCardinality()).orElse(0);
+    }
+
+    public Optional<Hits> search(PropertySearchCriteria criteria, Sort sort, long offset, int limit) {
+        // Pelnotekstowe i sortowania, ktorych indeks nie obsluguje, wracaja do Postgresa
+        if (hasQuery(criteria) || !sort.stream().allMatch(order -> SORTABLE.contains(order.getProperty()))) {
+            return Optional.empty();
+        }
+        return read(columns -> {
+            RoaringBitmap matches = columns.match(criteria, null);
+            return new Hits(columns.top(matches, columns.comparator(sort), offset, limit), matches.getLongCardinality());
+        });
+    }
+
+    public Optional<List<Long>> searchAfter(PropertySearchCriteria criteria, PropertyCursor cursor, int limit) {
+        if (hasQuery(criteria)) {
+            return Optional.empty();
+        }
+        Sort newest = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+        return read(columns -> columns.top(columns.match(criteria, cursor), columns.comparator(newest), 0, limit));
+    }
+
+    private static boolean hasQuery(PropertySearchCriteria criteria) {
+        return criteria != null && criteria.getQ() != null && !criteria.getQ().isBlank();
+    }
+
+    @Override
+    public String name() {
+        return "listing-index";
+    }
+
+    @Override
+    protected Columns emptyState() {
+        return new Columns();
+    }
+
+    @Override
+    protected void put(Columns columns, PropertyIndexRow row) {
+        columns.put(row);
+    }
+
+    @Override
+    protected void remove(Columns columns, Long propertyId) {
+        columns.remove(propertyId);
+    }
+
+    private static final BigDecimal MIN_SCALED = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal MAX_SCALED = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    // Granice z zapytania moga wyjsc poza long (np. minPrice=1e30) - przycinamy, wynik filtra jest ten sam
+    static long scaled(BigDecimal value, RoundingMode rounding) {
+        BigDecimal scaled = value.movePointRight(2).setScale(0, rounding);
+        if (scaled.compareTo(MAX_SCALED) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (scaled.compareTo(MIN_SCALED) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return scaled.longValueExact();
+    }
+
+    private static long epochMicros(LocalDateTime value) {
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + value.getNano() / 1_000;
+    }
+
+    static final class Columns {
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+
+        private final Dictionary cities = new Dictionary();
+        private final Dictionary propertyTypes = new Dictionary();
+        private final Dictionary transactionTypes = new Dictionary();
+
+        private long[] ids = new long[1024];
+        private long[] createdAt = new long[1024];
+        private long[] price = new long[1024];
+        private long[] area = new long[1024];
+        private int[] rooms = new int[1024];
+        private double[] latitude = new double[1024];
+        private double[] longitude = new double[1024];
+        private int[] cityCodes = new int[1024];
+        private int[] typeCodes = new int[1024];
+        private int[] transactionCodes = new int[1024];
+        private int nextSlot;
+
+        void put(PropertyIndexRow row) {
+            Integer slot = slots.get(row.id());
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? nextSlot++ : freeSlots.poll();
+                ensureCapacity(slot + 1);
+                slots.put(row.id(), slot);
+                live.add(slot);
+            } else {
+                unlink(slot);
+            }
+
+            ids[slot] = row.id();
+            createdAt[slot] = epochMicros(row.createdAt());
+            price[slot] = scaled(row.price(), RoundingMode.HALF_UP);
+            area[slot] = scaled(row.area(), RoundingMode.HALF_UP);
+            rooms[slot] = row.numberOfRooms() == null ? NO_ROOMS : row.numberOfRooms();
+            latitude[slot] = row.latitude() == null ? Double.NaN : row.latitude();
+            longitude[slot] = row.longitude() == null ? Double.NaN : row.longitude();
+            cityCodes[slot] = cities.add(row.city(), slot);
+            typeCodes[slot] = propertyTypes.add(row.propertyType(), slot);
+            transactionCodes[slot] = transactionTypes.add(row.transactionType(), slot);
+        }
+
+        void remove(Long id) {
+            Integer slot = slots.remove(id);
+            if (slot != null) {
+                live.remove(slot);
+                unlink(slot);
+                freeSlots.push(slot);
+            }
+        }
+
+        RoaringBitmap match(PropertySearchCriteria criteria, PropertyCursor cursor) {
+            RoaringBitmap matches = live.clone();
+            if (criteria != null) {
+                if (hasText(criteria.getCity())) {
+                    matches.and(cities.containing(TextFolding.fold(criteria.getCity().trim())));
+                }
+                if (hasText(criteria.getPropertyType())) {
+                    matches.and(propertyTypes.exact(criteria.getPropertyType()));
+                }
+                if (hasText(criteria.getTransactionType())) {
+                    matches.and(transactionTypes.exact(criteria.getTransactionType()));
+                }
+            }
+
+            long minPrice = bound(criteria == null ? null : criteria.getMinPrice(), RoundingMode.CEILING, Long.MIN_VALUE);
+            long maxPrice = bound(criteria == null ? null : criteria.getMaxPrice(), RoundingMode.FLOOR, Long.MAX_VALUE);
+            long minArea = bound(criteria == null ? null : criteria.getMinArea(), RoundingMode.CEILING, Long.MIN_VALUE);
+            long maxArea = bound(criteria == null ? null : criteria.getMaxArea(), RoundingMode.FLOOR, Long.MAX_VALUE);
+            Integer bedrooms = criteria == null ? null : criteria.getBedrooms();
+            GeoFilter geo = GeoFilter.from(criteria);
+
+            boolean ranged = minPrice != Long.MIN_VALUE || maxPrice != Long.MAX_VALUE
+                    || minArea != Long.MIN_VALUE || maxArea != Long.MAX_VALUE
+                    || bedrooms != null || geo != null || cursor != null;
+            if (!ranged) {
+                return matches;
+            }
+
+            long afterCreatedAt = cursor == null ? 0 : epochMicros(cursor.createdAt());
+            long afterId = cursor == null ? 0 : cursor.id();
+
+            RoaringBitmap filtered = new RoaringBitmap();
+            IntIterator it = matches.getIntIterator();
+            while (it.hasNext()) {
+                int slot = it.next();
+                if (price[slot] < minPrice || price[slot] > maxPrice
+                        || area[slot] < minArea || area[slot] > maxArea) {
+                    continue;
+                }
+                if (bedrooms != null && (rooms[slot] == NO_ROOMS || rooms[slot] < bedrooms)) {
+                    continue;
+                }
+                if (geo != null && !geo.matches(latitude[slot], longitude[slot])) {
+                    continue;
+                }
+                if (cursor != null && (createdAt[slot] > afterCreatedAt
+                        || (createdAt[slot] == afterCreatedAt && ids[slot] >= afterId))) {
+                    continue;
+                }
+                filtered.add(slot);
+            }
+            return filtered;
+        }
+
+        List<Long> top(RoaringBitmap matches, Comparator<Integer> order, long offset, int limit) {
+            long wanted = offset + limit;
+            if (offset >= matches.getLongCardinality() || limit <= 0) {
+                return List.of();
+            }
+
+            // Kopiec o rozmiarze offset+limit zamiast sortowania calego wyniku
+            PriorityQueue<Integer> heap = new PriorityQueue<>(order.reversed());
+            IntIterator it = matches.getIntIterator();
+            while (it.hasNext()) {
+                int slot = it.next();
+                if (heap.size() < wanted) {
+                    heap.add(slot);
+                } else if (order.compare(slot, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(slot);
+                }
+            }
+
+            Integer[] sorted = heap.toArray(Integer[]::new);
+            Arrays.sort(sorted, order);
+            List<Long> page = new ArrayList<>(limit);
+            for (int i = (int) offset; i < sorted.length; i++) {
+                page.add(ids[sorted[i]]);
+            }
+            return page;
+        }
+
+        Comparator<Integer> comparator(Sort sort) {
+            List<Comparator<Integer>> parts = new ArrayList<>();
+            boolean hasId = false;
+            for (Sort.Order order : sort) {
+                Comparator<Integer> part = switch (order.getProperty()) {
+                    case "createdAt" -> Comparator.comparingLong(slot -> createdAt[slot]);
+                    case "price" -> Comparator.comparingLong(slot -> price[slot]);
+                    case "area" -> Comparator.comparingLong(slot -> area[slot]);
+                    case "id" -> Comparator.comparingLong(slot -> ids[slot]);
+                    default -> throw new IllegalArgumentException(order.getProperty());
+                };
+                hasId |= order.getProperty().equals("id");
+                parts.add(order.isAscending() ? part : part.reversed());
+            }
+            if (parts.isEmpty()) {
+                parts.add(Comparator.<Integer>comparingLong(slot -> createdAt[slot]).reversed());
+            }
+            if (!hasId) {
+                parts.add(Comparator.<Integer>comparingLong(slot -> ids[slot]).reversed());
+            }
+            return parts.stream().reduce(Comparator::thenComparing).orElseThrow();
+        }
+
+        private void unlink(int slot) {
+            cities.remove(cityCodes[slot], slot);
+            propertyTypes.remove(typeCodes[slot], slot);
+            transactionTypes.remove(transactionCodes[slot], slot);
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= ids.length) {
+                return;
+            }
+            int grown = Math.max(capacity, ids.length * 2);
+            ids = Arrays.copyOf(ids, grown);
+            createdAt = Arrays.copyOf(createdAt, grown);
+            price = Arrays.copyOf(price, grown);
+            area = Arrays.copyOf(area, grown);
+            rooms = Arrays.copyOf(rooms, grown);
+            latitude = Arrays.copyOf(latitude, grown);
+            longitude = Arrays.copyOf(longitude, grown);
+            cityCodes = Arrays.copyOf(cityCodes, grown);
+            typeCodes = Arrays.copyOf(typeCodes, grown);
+            transactionCodes = Arrays.copyOf(transactionCodes, grown);
+        }
+
+        private static long bound(BigDecimal value, RoundingMode rounding, long unbounded) {
+            return value == null ? unbounded : scaled(value, rounding);
+        }
+
+        private static boolean hasText(String value) {
+            return value != null && !value.isBlank();
+        }
+    }
+
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> folded = new ArrayList<>();
+        private final List<RoaringBitmap> bitmaps = new ArrayList<>();
+
+        int add(String value, int slot) {
+            int code = codes.computeIfAbsent(value, v -> {
+                folded.add(TextFolding.fold(v));
+                bitmaps.add(new RoaringBitmap());
+                return bitmaps.size() - 1;
+            });
+            bitmaps.get(code).add(slot);
+            return code;
+        }
+
+        void remove(int code, int slot) {
+            bitmaps.get(code).remove(slot);
+        }
+
+        RoaringBitmap exact(String value) {
+            Integer code = codes.get(value);
+            return code == null ? new RoaringBitmap() : bitmaps.get(code);
+        }
+
+        RoaringBitmap containing(String needle) {
+            RoaringBitmap result = new RoaringBitmap();
+            for (int code = 0; code < folded.size(); code++) {
+                if (folded.get(code).contains(needle)) {
+                    result.or(bitmaps.get(code));
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.MapClusterDto;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.geo.GeoBox;
+import com.induohouse.induo_house.geo.Geohash;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+public class PropertyMapClusterService extends PropertyRowIndex<PropertyMapClusterService.Aggregates> {
+
+    static final int MAX_PRECISION = 7;
+    static final int MAX_ZOOM = 22;
+    private static final int MAX_CELLS = 2048;
+
+    private final PropertyRepository propertyRepository;
+
+    public PropertyMapClusterService(PropertyRepository propertyRepository,
+                                     PrimaryReads primaryReads,
+                                     @Value("${app.search.index.enabled:true}") boolean enabled) {
+        super(propertyRepository, primaryReads, enabled);
+        this.propertyRepository = propertyRepository;
+    }
+
+    public List<MapClusterDto> clusters(String bbox, int zoom, String transactionType) {
+        if (bbox == null || bbox.isBlank()) {
+            throw new InvalidRequestParameterException("Parametr bbox jest wymagany");
+        }
+        if (zoom < 0 || zoom > MAX_ZOOM) {
+            throw new InvalidRequestParameterException("zoom musi byc w zakresie 0.." + MAX_ZOOM);
+        }
+        GeoBox box = GeoBox.parse(bbox);
+
+        int precision = precision(box, zoom);
+        List<String> cells = Geohash.cells(box, precision);
+        return read(aggregates -> {
+            List<MapClusterDto> clusters = new ArrayList<>();
+            for (String cell : cells) {
+                Map<String, CellAggregate> byTransaction = aggregates.levels.get(precision - 1).get(cell);
+                if (byTransaction == null) {
+                    continue;
+                }
+                Cluster cluster = new Cluster();
+                byTransaction.forEach((type, aggregate) -> {
+                    if (transactionType == null || transactionType.isBlank() || transactionType.equals(type)) {
+                        cluster.add(aggregate);
+                    }
+                });
+                if (cluster.count > 0) {
+                    clusters.add(cluster.toDto(cell));
+                }
+            }
+            clusters.sort(Comparator.comparingLong(MapClusterDto::count).reversed());
+            return clusters;
+        }).orElseGet(() -> propertyRepository.findMapClusters(cells, precision, transactionType));
+    }
+
+    // Mniej wiecej: komorka geohash ~ kilka kafli mapy przy danym zoomie
+    static int precision(GeoBox box, int zoom) {
+        int precision = Math.min(MAX_PRECISION, Math.max(1, (zoom + 2) * 2 / 5));
+        while (precision > 1 && Geohash.cellCount(box, precision) > MAX_CELLS) {
+            precision--;
+        }
+        return precision;
+    }
+
+    @Override
+    public String name() {
+        return "map-clusters";
+    }
+
+    @Override
+    protected Aggregates emptyState() {
+        return new Aggregates();
+    }
+
+    @Override
+    protected void put(Aggregates aggregates, PropertyIndexRow row) {
+        aggregates.remove(row.id());
+        aggregates.put(row);
+    }
+
+    @Override
+    protected void remove(Aggregates aggregates, Long propertyId) {
+        aggregates.remove(propertyId);
+    }
+
+    private record Located(double latitude, double longitude, BigDecimal price,
+                           String transactionType, String geohash) {}
+
+    static final class Aggregates {
+
+        private final Map<Long, Located> located = new HashMap<>();
+        private final List<Map<String, Map<String, CellAggregate>>> levels = new ArrayList<>();
+
+        Aggregates() {
+            for (int i = 0; i < MAX_PRECISION; i++) {
+                levels.add(new HashMap<>());
+            }
+        }
+
+        void put(PropertyIndexRow row) {
+            if (row.latitude() == null || row.longitude() == null) {
+                return;
+            }
+            Located point = new Located(row.latitude(), row.longitude(), row.price(), row.transactionType(),
+                    Geohash.encode(row.latitude(), row.longitude(), MAX_PRECISION));
+            located.put(row.id(), point);
+            for (int p = 1; p <= MAX_PRECISION; p++) {
+                levels.get(p - 1)
+                        .computeIfAbsent(point.geohash.substring(0, p), cell -> new HashMap<>())
+                        .computeIfAbsent(point.transactionType, type -> new CellAggregate())
+                        .add(point);
+            }
+        }
+
+        void remove(Long id) {
+            Located point = located.remove(id);
+            if (point == null) {
+                return;
+            }
+            for (int p = 1; p <= MAX_PRECISION; p++) {
+                String cell = point.geohash.substring(0, p);
+                Map<String, CellAggregate> byTransaction = levels.get(p - 1).get(cell);
+                CellAggregate aggregate = byTransaction.get(point.transactionType);
+                aggregate.remove(point);
+                if (aggregate.count == 0) {
+                    byTransaction.remove(point.transactionType);
+                    if (byTransaction.isEmpty()) {
+                        levels.get(p - 1).remove(cell);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class CellAggregate {
+
+        private long count;
+        private double sumLatitude;
+        private double sumLongitude;
+        // multizbior cen - min/max musza przetrwac usuniecie skrajnej oferty
+        private final TreeMap<BigDecimal, Integer> prices = new TreeMap<>();
+
+        void add(Located point) {
+            count++;
+            sumLatitude += point.latitude;
+            sumLongitude += point.longitude;
+            prices.merge(point.price, 1, Integer::sum);
+        }
+
+        void remove(Located point) {
+            count--;
+            sumLatitude -= point.latitude;
+            sumLongitude -= point.longitude;
+            prices.computeIfPresent(point.price, (price, n) -> n == 1 ? null : n - 1);
+        }
+
+    }
+
+    private static final class Cluster {
+
+        private long count;
+        private double sumLatitude;
+        private double sumLongitude;
+        private BigDecimal minPrice;
+        private BigDecimal maxPrice;
+
+        void add(CellAggregate aggregate) {
+            count += aggregate.count;
+            sumLatitude += aggregate.sumLatitude;
+            sumLongitude += aggregate.sumLongitude;
+            BigDecimal min = aggregate.prices.firstKey();
+            BigDecimal max = aggregate.prices.lastKey();
+            minPrice = minPrice == null || min.compareTo(minPrice) < 0 ? min : minPrice;
+            maxPrice = maxPrice == null || max.compareTo(maxPrice) > 0 ? max : maxPrice;
+        }
+
+        MapClusterDto toDto(String cell) {
+            return new MapClusterDto(cell, sumLatitude / count, sumLongitude / count, count, minPrice, maxPrice);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.PageResponse;
+import com.induohouse.induo_house.dto.PropertyFields;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Gotowe bajty JSON/CBOR (i gzip) pierwszych stron wynikow - trafienie omija wyszukiwanie,
+// mapowanie i Jacksona
+@Slf4j
+@Component
+public class PropertyPageCache implements PropertyChangeSubscriber {
+
+    static final String CACHE_NAME = "property.pages";
+
+    public record EncodedPage(byte[] body, byte[] gzip, String etag, MediaType contentType) {}
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper cborMapper;
+    private final Cache<String, EncodedPage> pages;
+    private final int maxCachedPage;
+    private final PrimaryReads primaryReads;
+    private final long gzipThreshold;
+    private final AtomicLong listingsVersion = new AtomicLong();
+
+    public PropertyPageCache(ObjectMapper jsonMapper,
+                             MappingJackson2CborHttpMessageConverter cborConverter,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.search.page-cache.ttl:PT5M}") Duration ttl,
+                             @Value("${app.search.page-cache.max-bytes:33554432}") long maxBytes,
+                             @Value("${app.search.page-cache.max-page:2}") int maxCachedPage,
+                             @Value("${server.compression.min-response-size:2KB}") DataSize gzipThreshold,
+                             PrimaryReads primaryReads) {
+        this.primaryReads = primaryReads;
+        this.jsonMapper = jsonMapper;
+        this.cborMapper = cborConverter.getObjectMapper();
+        this.maxCachedPage = maxCachedPage;
+        this.gzipThreshold = gzipThreshold.toBytes();
+        this.pages = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumWeight(maxBytes)
+                .<String, EncodedPage>weigher((key, page) ->
+                        page.body().length + (page.gzip() == null ? 0 : page.gzip().length))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, CACHE_NAME);
+    }
+
+    public EncodedPage get(PropertySearchCriteria criteria, Pageable pageable, boolean estimateTotal,
+                           PropertyFields fields, MediaType format,
+                           Supplier<PageResponse<PropertyListResponse>> loader) {
+        if (pageable.getPageNumber() > maxCachedPage) {
+            return encode(loader.get(), fields, format, false);
+        }
+        // Wersja czytana przed wyszukiwaniem - wynik policzony w trakcie zapisu
+        // trafia pod stary klucz i nikt go juz nie odczyta
+        String key = listingsVersion.get() + "|" + (criteria == null ? "" : criteria.cacheKey())
+                + "|" + pageable.getPageNumber() + "|" + pageable.getPageSize()
+                + "|" + pageable.getSort() + "|" + estimateTotal + "|" + fields.cacheKey()
+                + "|" + format.getSubtype();
+        return pages.get(key, k -> encode(primaryReads.call(loader), fields, format, true));
+    }
+
+    // Bez gzip strona idzie jak jest, a powyzej progu kompresuje ja serwer (server.compression)
+    public EncodedPage encode(PageResponse<PropertyListResponse> body, PropertyFields fields,
+                              MediaType format, boolean withGzip) {
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.equals(format) ? cborMapper : jsonMapper;
+        try {
+            byte[] bytes = mapper.writer(fields.filterProvider()).writeValueAsBytes(body);
+            byte[] gzip = withGzip && bytes.length >= gzipThreshold ? gzip(bytes) : null;
+            return new EncodedPage(bytes, gzip, "W/\"" + sha256(bytes) + "\"", format);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Nie udalo sie zserializowac strony wynikow", e);
+        }
+    }
+
+    public long listingsVersion() {
+        return listingsVersion.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        listingsVersion.incrementAndGet();
+        pages.invalidateAll();
+        log.debug("Page cache cleared after {} of property {}", event.type(), event.propertyId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesChanged(PropertiesChangedEvent event) {
+        listingsVersion.incrementAndGet();
+        pages.invalidateAll();
+        log.debug("Page cache cleared after {} of {} properties", event.type(), event.propertyIds().size());
+    }
+
+    @Override
+    public String name() {
+        return "page-cache";
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    @Override
+    public void onChanges(List<PropertyChangeDto> changes) {
+        listingsVersion.incrementAndGet();
+        pages.invalidateAll();
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
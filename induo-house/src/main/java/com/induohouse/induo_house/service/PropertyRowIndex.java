@@ -0,0 +1,196 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+// Wspolny cykl zycia struktur w pamieci budowanych z tabeli properties:
+// pelna przebudowa na starcie, potem aktualizacja po kazdym PropertyChangedEvent tej instancji
+// i po zmianach innych instancji z outboxa
+@Slf4j
+public abstract class PropertyRowIndex<S> implements PropertyChangeSubscriber {
+
+    private final PropertyRepository propertyRepository;
+    private final PrimaryReads primaryReads;
+    private final boolean enabled;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private S state;
+
+    protected PropertyRowIndex(PropertyRepository propertyRepository, PrimaryReads primaryReads, boolean enabled) {
+        this.propertyRepository = propertyRepository;
+        this.primaryReads = primaryReads;
+        this.enabled = enabled;
+    }
+
+    protected abstract S emptyState();
+
+    // Musi tez obslugiwac nadpisanie wiersza, ktory juz jest w indeksie
+    protected abstract void put(S state, PropertyIndexRow row);
+
+    protected abstract void remove(S state, Long propertyId);
+
+    public boolean isReady() {
+        lock.readLock().lock();
+        try {
+            return state != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    protected <R> Optional<R> read(Function<S, R> reader) {
+        lock.readLock().lock();
+        try {
+            return state == null ? Optional.empty() : Optional.ofNullable(reader.apply(state));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        changedDuringRebuild.clear();
+        rebuilding = true;
+        S fresh = emptyState();
+        int rowCount = 0;
+        try {
+            rowCount = primaryReads.call(() -> load(fresh));
+            lock.writeLock().lock();
+            try {
+                state = fresh;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            log.warn("{} rebuild failed, it stays unavailable until the next rebuild", getClass().getSimpleName(), e);
+            return;
+        } finally {
+            rebuilding = false;
+        }
+
+        // Zmiany, ktore przyszly w trakcie skanu, mogly nie trafic do nowego snapshotu
+        refresh(List.copyOf(changedDuringRebuild));
+        changedDuringRebuild.clear();
+
+        log.info("{} rebuilt from {} properties in {} ms",
+                getClass().getSimpleName(), rowCount, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChanged(PropertyChangedEvent event) {
+        if (!enabled || !event.affectsListing()) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.add(event.propertyId());
+        }
+        if (event.type() == ChangeType.DELETED) {
+            write(current -> remove(current, event.propertyId()));
+        } else {
+            refresh(List.of(event.propertyId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertiesChanged(PropertiesChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (rebuilding) {
+            changedDuringRebuild.addAll(event.propertyIds());
+        }
+        refresh(event.propertyIds());
+    }
+
+    @Override
+    public boolean perInstance() {
+        return true;
+    }
+
+    // Usuniete ogloszenie nie ma wiersza w bazie, wiec refresh zdejmie je z indeksu
+    @Override
+    public void onChanges(List<PropertyChangeDto> changes) {
+        if (!enabled) {
+            return;
+        }
+        List<Long> ids = changes.stream()
+                .filter(PropertyChangeDto::affectsListing)
+                .map(PropertyChangeDto::propertyId)
+                .distinct()
+                .toList();
+        if (rebuilding) {
+            changedDuringRebuild.addAll(ids);
+        }
+        refresh(ids);
+    }
+
+    private void refresh(Collection<Long> ids) {
+        if (ids.isEmpty() || !isReady()) {
+            return;
+        }
+        Map<Long, PropertyIndexRow> rows = new HashMap<>();
+        for (PropertyIndexRow row : primaryReads.call(() -> propertyRepository.findIndexRows(ids))) {
+            rows.put(row.id(), row);
+        }
+
+        write(current -> {
+            for (Long id : ids) {
+                PropertyIndexRow row = rows.get(id);
+                if (row == null) {
+                    remove(current, id);
+                } else {
+                    put(current, row);
+                }
+            }
+        });
+    }
+
+    private int load(S fresh) {
+        int rowCount = 0;
+        try (Stream<PropertyIndexRow> rows = propertyRepository.streamIndexRows()) {
+            for (PropertyIndexRow row : (Iterable<PropertyIndexRow>) rows::iterator) {
+                put(fresh, row);
+                rowCount++;
+            }
+        }
+        return rowCount;
+    }
+
+    private void write(Consumer<S> writer) {
+        lock.writeLock().lock();
+        try {
+            if (state != null) {
+                writer.accept(state);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
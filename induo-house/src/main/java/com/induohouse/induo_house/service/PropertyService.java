@@ -1,13 +1,22 @@
 package com.induohouse.induo_house.service;
 
+import com.induohouse.induo_house.datasource.ReadYourWritesTracker;
+import com.induohouse.induo_house.dto.CountedPage;
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.PropertyFields;
 import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
 import com.induohouse.induo_house.dto.request.UpdatePropertyRequest;
+import com.induohouse.induo_house.dto.response.PropertyBatchResponse;
 import com.induohouse.induo_house.dto.response.PropertyImageResponse;
 import com.induohouse.induo_house.dto.response.PropertyListResponse;
 import com.induohouse.induo_house.dto.response.PropertyResponse;
 import com.induohouse.induo_house.entity.Property;
 import com.induohouse.induo_house.entity.PropertyImage;
 import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
 import com.induohouse.induo_house.exception.PropertyAccessDeniedException;
 import com.induohouse.induo_house.exception.PropertyNotFoundException;
 import com.induohouse.induo_house.exception.UserNotFoundException;
@@ -16,140 +25,215 @@ import com.induohouse.induo_house.repository.PropertyImageRepository;
 import com.induohouse.induo_house.repository.PropertyRepository;
 import com.induohouse.induo_house.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.*;
-import org.springframework.stereotype.Service;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class PropertyService {
 
+    public static final int MAX_BATCH_SIZE = 100;
+
     private final PropertyRepository propertyRepository;
     private final UserRepository userRepository;
     private final PropertyMapper propertyMapper;
     private final PropertyImageRepository propertyImageRepository;
     private final FileStorageService fileStorageService;
+    private final PropertyCountCache countCache;
+    private final PropertyListingIndex listingIndex;
+    private final PropertyDetailCache detailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReadYourWritesTracker readYourWrites;
+
+    @Value("${app.search.estimate-threshold:10000}")
+    private long estimateThreshold;
 
     public PropertyService(PropertyRepository propertyRepository,
                            UserRepository userRepository,
                            PropertyMapper propertyMapper,
                            PropertyImageRepository propertyImageRepository,
-                           FileStorageService fileStorageService) {
+                           FileStorageService fileStorageService,
+                           PropertyCountCache countCache,
+                           PropertyListingIndex listingIndex,
+                           PropertyDetailCache detailCache,
+                           ApplicationEventPublisher eventPublisher,
+                           ReadYourWritesTracker readYourWrites) {
         this.propertyRepository = propertyRepository;
         this.userRepository = userRepository;
         this.propertyMapper = propertyMapper;
         this.propertyImageRepository = propertyImageRepository;
         this.fileStorageService = fileStorageService;
+        this.countCache = countCache;
+        this.listingIndex = listingIndex;
+        this.detailCache = detailCache;
+        this.eventPublisher = eventPublisher;
+        this.readYourWrites = readYourWrites;
     }
 
     @Transactional(readOnly = true)
     public Page<PropertyListResponse> getAll(Pageable pageable) {
-        Page<Property> page = propertyRepository.findAllPaged(pageable);
-
-        List<Long> ids = page.getContent().stream()
-                .map(Property::getId).toList();
+        return search(new PropertySearchCriteria(), pageable);
+    }
 
-        List<Property> fullProperties = propertyRepository.findAllWithImagesByIds(ids);
+    // Bez @Transactional - trafienie w cache nie pobiera polaczenia z puli, a chybienie
+    // napelnia cache z primary (PrimaryReads); findByIdWithImages laduje zdjecia i wlasciciela
+    // w jednym zapytaniu
+    public PropertyResponse getById(Long id) {
+        return detailCache.get(id, key -> propertyMapper.toResponse(
+                propertyRepository.findByIdWithImages(key)
+                        .orElseThrow(() -> new PropertyNotFoundException(key))));
+    }
 
-        Map<Long, Property> propertyMap = fullProperties.stream()
-                .collect(Collectors.toMap(Property::getId, p -> p));
+    @Transactional(readOnly = true)
+    public PropertyBatchResponse getBatch(List<Long> ids) {
+        List<Long> requested = new ArrayList<>(new LinkedHashSet<>(ids));
+        requested.removeIf(Objects::isNull);
+        if (requested.size() > MAX_BATCH_SIZE) {
+            throw new InvalidRequestParameterException(
+                    "Mozna pobrac najwyzej " + MAX_BATCH_SIZE + " ogloszen naraz");
+        }
+        if (requested.isEmpty()) {
+            return new PropertyBatchResponse(List.of(), List.of());
+        }
 
-        List<PropertyListResponse> responses = page.getContent().stream()
-                .map(p -> propertyMapper.toListResponse(propertyMap.get(p.getId())))
-                .toList();
+        Map<Long, Property> byId = propertyRepository.findAllWithImagesByIds(requested).stream()
+                .collect(Collectors.toMap(Property::getId, Function.identity()));
+
+        List<PropertyListResponse> items = new ArrayList<>(byId.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            Property property = byId.get(id);
+            if (property == null) {
+                missing.add(id);
+            } else {
+                items.add(propertyMapper.toListResponse(property));
+            }
+        }
+        return new PropertyBatchResponse(items, missing);
+    }
 
-        return new PageImpl<>(responses, pageable, page.getTotalElements());
+    // Walidator dla zapytan warunkowych - z cache albo jednym odczytem updated_at
+    public LocalDateTime getLastModified(Long id) {
+        return detailCache.peek(id)
+                .map(PropertyResponse::getUpdatedAt)
+                .or(() -> propertyRepository.findUpdatedAtById(id))
+                .orElseThrow(() -> new PropertyNotFoundException(id));
     }
 
     @Transactional(readOnly = true)
-    public PropertyResponse getById(Long id) {
-        Property property = propertyRepository.findByIdWithImages(id)
-                .orElseThrow(() -> new PropertyNotFoundException(id));
-        return propertyMapper.toResponse(property);
+    public Page<PropertyListResponse> search(PropertySearchCriteria criteria, Pageable pageable) {
+        return search(criteria, pageable, false);
     }
 
-    private Pageable toNativePageable(Pageable pageable) {
-        Sort convertedSort = Sort.by(
-                pageable.getSort().stream()
-                        .map(order -> {
-                            String snakeCase = order.getProperty()
-                                    .replaceAll("([A-Z])", "_$1")
-                                    .toLowerCase();
-                            return order.isAscending()
-                                    ? Sort.Order.asc(snakeCase)
-                                    : Sort.Order.desc(snakeCase);
-                        })
-                        .toList()
-        );
-        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), convertedSort);
+    @Transactional(readOnly = true)
+    public Page<PropertyListResponse> search(PropertySearchCriteria criteria, Pageable pageable, boolean estimateTotal) {
+        return search(criteria, pageable, estimateTotal, PropertyFields.FULL_LIST);
     }
 
     @Transactional(readOnly = true)
-    public Page<PropertyListResponse> search(
-            String city,
-            String propertyType,
-            String transactionType,
-            BigDecimal minPrice,
-            BigDecimal maxPrice,
-            BigDecimal minArea,
-            BigDecimal maxArea,
-            Integer bedrooms,
-            Pageable pageable) {
-
-        String cityParam = (city != null && !city.isBlank())                       ? city            : null;
-        String typeParam = (propertyType != null && !propertyType.isBlank())       ? propertyType    : null;
-        String txParam   = (transactionType != null && !transactionType.isBlank()) ? transactionType : null;
-
-        Pageable nativePageable = toNativePageable(pageable);
-
-        Page<Property> page = propertyRepository.findWithFilters(
-                cityParam, typeParam, txParam,
-                minPrice, maxPrice, minArea, maxArea, bedrooms,
-                nativePageable);
-
-        if (page.isEmpty()) {
-            return new PageImpl<>(List.of(), pageable, 0);
+    public Page<PropertyListResponse> search(PropertySearchCriteria criteria, Pageable pageable, boolean estimateTotal,
+                                             PropertyFields fields) {
+        Optional<PropertyListingIndex.Hits> hits = listingIndex.search(
+                criteria, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+        if (hits.isPresent()) {
+            return new CountedPage<>(hydrate(hits.get().ids(), fields), pageable, hits.get().total(), false);
         }
 
-        List<Long> ids = page.getContent().stream().map(Property::getId).toList();
-        List<Property> fullProperties = propertyRepository.findAllWithImagesByIds(ids);
-        Map<Long, Property> propertyMap = fullProperties.stream()
-                .collect(Collectors.toMap(Property::getId, p -> p));
+        List<PropertyListResponse> content = propertyRepository.search(criteria, pageable, fields);
 
-        List<PropertyListResponse> responses = page.getContent().stream()
-                .map(p -> propertyMapper.toListResponse(
-                        propertyMap.getOrDefault(p.getId(), p)))
-                .toList();
+        boolean knownFromPage = content.size() < pageable.getPageSize()
+                && (pageable.getOffset() == 0 || !content.isEmpty());
+        if (knownFromPage) {
+            return new CountedPage<>(content, pageable, pageable.getOffset() + content.size(), false);
+        }
 
-        return new PageImpl<>(responses, pageable, page.getTotalElements());
+        if (estimateTotal) {
+            long estimate = propertyRepository.estimateCount(criteria);
+            if (estimate >= estimateThreshold) {
+                return new CountedPage<>(content, pageable, estimate, true);
+            }
+        }
+
+        long total = countCache.get(criteria, () -> propertyRepository.count(criteria));
+        return new CountedPage<>(content, pageable, total, false);
+    }
+
+    @Transactional(readOnly = true)
+    public Window<PropertyListResponse> searchAfter(PropertySearchCriteria criteria, PropertyCursor cursor, int size,
+                                                    PropertyFields fields) {
+        List<PropertyListResponse> rows = listingIndex.searchAfter(criteria, cursor, size + 1)
+                .map(ids -> hydrate(ids, fields))
+                .orElseGet(() -> propertyRepository.searchAfter(criteria, cursor, size + 1, fields));
+
+        boolean hasNext = rows.size() > size;
+        List<PropertyListResponse> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        return Window.from(
+                pageRows,
+                index -> new PropertyCursor(
+                        pageRows.get(index).getCreatedAt(),
+                        pageRows.get(index).getId()).toPosition(),
+                hasNext);
     }
 
+    private List<PropertyListResponse> hydrate(List<Long> ids, PropertyFields fields) {
+        Map<Long, PropertyListResponse> byId = propertyRepository.findListingsByIds(ids, fields).stream()
+                .collect(Collectors.toMap(PropertyListResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
     public Page<PropertyListResponse> getByCity(String city, Pageable pageable) {
-        return propertyRepository.findByCity(city, pageable)
-                .map(propertyMapper::toListResponse);
+        return hydratePage(propertyRepository.findIdsByCity(city, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<PropertyListResponse> getByType(String propertyType, Pageable pageable) {
-        return propertyRepository.findByPropertyTypeWithDetails(propertyType, pageable)
-                .map(propertyMapper::toListResponse);
+        return hydratePage(propertyRepository.findIdsByPropertyType(propertyType, pageable));
     }
 
+    @Transactional(readOnly = true)
     public Page<PropertyListResponse> getByUserId(Long userId, Pageable pageable) {
-        return propertyRepository.findByUserId(userId, pageable)
-                .map(propertyMapper::toListResponse);
+        return hydratePage(propertyRepository.findIdsByUserId(userId, pageable));
     }
 
+    @Transactional(readOnly = true)
+    public Page<PropertyListResponse> getActiveByUserId(Long userId, Pageable pageable) {
+        return hydratePage(propertyRepository.findActiveIdsByUserId(userId, pageable));
+    }
+
+    @Transactional(readOnly = true)
     public Page<PropertyListResponse> getByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        return propertyRepository.findByPriceBetween(minPrice, maxPrice, pageable)
-                .map(propertyMapper::toListResponse);
+        return hydratePage(propertyRepository.findIdsByPriceBetween(minPrice, maxPrice, pageable));
+    }
+
+    // Strona id (+ count) i jedno zapytanie po wiersze z miniatura i wlascicielem -
+    // stala liczba zapytan niezaleznie od rozmiaru strony
+    private Page<PropertyListResponse> hydratePage(Page<Long> ids) {
+        return new PageImpl<>(hydrate(ids.getContent(), PropertyFields.FULL_LIST), ids.getPageable(),
+                ids.getTotalElements());
     }
 
     @Transactional
@@ -159,7 +243,11 @@ public class PropertyService {
 
         Property property = propertyMapper.toEntity(request);
         property.setUser(user);
-        Property saved = propertyRepository.save(property);
+        // Id jest z puli sekwencji, a INSERT czekalby do commitu - odpowiedz potrzebuje created_at
+        Property saved = propertyRepository.saveAndFlush(property);
+        eventPublisher.publishEvent(new PropertyChangedEvent(saved.getId(), ChangeType.CREATED));
+        // Autor zaraz otworzy swoje ogloszenie - replika moze go jeszcze nie miec
+        readYourWrites.markWrite(userId);
         return propertyMapper.toResponse(saved);
     }
 
@@ -173,6 +261,8 @@ public class PropertyService {
         }
 
         propertyRepository.delete(property);
+        detailCache.evict(propertyId);
+        eventPublisher.publishEvent(new PropertyChangedEvent(propertyId, ChangeType.DELETED));
         log.info("Property {} deleted by user {}", propertyId, userId);
     }
 
@@ -195,10 +285,17 @@ public class PropertyService {
         if (request.getNumberOfRooms() != null)   property.setNumberOfRooms(request.getNumberOfRooms());
         if (request.getFloor() != null)           property.setFloor(request.getFloor());
         if (request.getTotalFloors() != null)     property.setTotalFloors(request.getTotalFloors());
+        if (request.getLatitude() != null)        property.setLatitude(request.getLatitude());
+        if (request.getLongitude() != null)       property.setLongitude(request.getLongitude());
         if (request.getTransactionType() != null) property.setTransactionType(request.getTransactionType());
         if (request.getPropertyType() != null)    property.setPropertyType(request.getPropertyType());
+        // SOLD zamyka ogloszenie, ACTIVE wznawia wygasle (zapis odswieza updated_at, od ktorego liczy sie TTL)
+        if (request.getStatus() != null)          property.setStatus(request.getStatus());
 
         Property saved = propertyRepository.save(property);
+        detailCache.evict(propertyId);
+        eventPublisher.publishEvent(new PropertyChangedEvent(propertyId, ChangeType.UPDATED));
+        readYourWrites.markWrite(userId);
         return propertyMapper.toResponse(saved);
     }
 
@@ -220,6 +317,9 @@ public class PropertyService {
             throw new IllegalArgumentException("Plik nie może być większy niż 5MB");
         }
 
+        // Zdjecia sa czescia odpowiedzi szczegolow, wiec zmieniaja tez jej walidator
+        property.setUpdatedAt(LocalDateTime.now());
+
         if (isPrimary || property.getImages().isEmpty()) {
             propertyImageRepository.clearPrimaryForProperty(propertyId);
         }
@@ -234,6 +334,8 @@ public class PropertyService {
         image.setSortOrder(sortOrder);
 
         PropertyImage saved = propertyImageRepository.save(image);
+        detailCache.evict(propertyId);
+        eventPublisher.publishEvent(new PropertyChangedEvent(propertyId, ChangeType.IMAGES_CHANGED));
         log.info("Image added to property {} by user {}, isPrimary={}", propertyId, userId, image.isPrimary());
 
         PropertyImageResponse response = new PropertyImageResponse();
@@ -260,8 +362,11 @@ public class PropertyService {
             throw new PropertyAccessDeniedException();
         }
 
+        property.setUpdatedAt(LocalDateTime.now());
         fileStorageService.deleteFile(image.getUrl());
         propertyImageRepository.delete(image);
+        detailCache.evict(propertyId);
+        eventPublisher.publishEvent(new PropertyChangedEvent(propertyId, ChangeType.IMAGES_CHANGED));
         log.info("Image {} deleted from property {} by user {}", imageId, propertyId, userId);
 
         if (image.isPrimary()) {
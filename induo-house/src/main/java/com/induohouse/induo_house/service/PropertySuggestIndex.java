@@ -0,0 +1,257 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.SuggestionDto;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+@Component
+public class PropertySuggestIndex extends PropertyRowIndex<PropertySuggestIndex.Trie> {
+
+    static final int MAX_SUGGESTIONS = 20;
+
+    private static final Pattern STREET_PREFIX =
+            Pattern.compile("^(ul|ulica|al|aleja|aleje|os|osiedle|pl|plac)\\.?\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern HOUSE_NUMBER =
+            Pattern.compile("\\s+\\d+[a-zA-Z]?(\\s*[/-]\\s*\\d+[a-zA-Z]?)*$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public PropertySuggestIndex(PropertyRepository propertyRepository,
+                                PrimaryReads primaryReads,
+                                @Value("${app.search.index.enabled:true}") boolean enabled) {
+        super(propertyRepository, primaryReads, enabled);
+    }
+
+    public List<SuggestionDto> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        return read(trie -> trie.top(key).stream()
+                .limit(size)
+                .map(Term::toDto)
+                .toList())
+                .orElse(List.of());
+    }
+
+    @Override
+    public String name() {
+        return "suggest-index";
+    }
+
+    @Override
+    protected Trie emptyState() {
+        return new Trie();
+    }
+
+    @Override
+    protected void put(Trie trie, PropertyIndexRow row) {
+        trie.remove(row.id());
+        trie.add(row);
+    }
+
+    @Override
+    protected void remove(Trie trie, Long propertyId) {
+        trie.remove(propertyId);
+    }
+
+    static String normalize(String value) {
+        return WHITESPACE.matcher(TextFolding.fold(value).trim()).replaceAll(" ");
+    }
+
+    static String streetName(String street) {
+        if (street == null) {
+            return "";
+        }
+        return HOUSE_NUMBER.matcher(street.trim()).replaceAll("");
+    }
+
+    static final class Trie {
+
+        private final Node root = new Node();
+        private final Map<String, Term> terms = new HashMap<>();
+        private final Map<Long, List<Contribution>> contributions = new HashMap<>();
+
+        void add(PropertyIndexRow row) {
+            List<Contribution> contributed = new ArrayList<>(2);
+            String city = row.city() == null ? "" : row.city().trim();
+            String cityKey = normalize(city);
+            if (!cityKey.isEmpty()) {
+                contributed.add(new Contribution(term("C|" + cityKey, SuggestionDto.Type.CITY, cityKey), city, null));
+            }
+
+            String street = streetName(row.street());
+            String streetKey = normalize(STREET_PREFIX.matcher(street).replaceFirst(""));
+            if (!streetKey.isEmpty() && !cityKey.isEmpty()) {
+                Term term = term("S|" + streetKey + "|" + cityKey, SuggestionDto.Type.STREET, streetKey);
+                contributed.add(new Contribution(term, street, city));
+            }
+
+            for (Contribution contribution : contributed) {
+                contribution.term.add(contribution.value, contribution.city);
+                invalidate(contribution.term);
+            }
+            contributions.put(row.id(), contributed);
+        }
+
+        void remove(Long propertyId) {
+            List<Contribution> contributed = contributions.remove(propertyId);
+            if (contributed == null) {
+                return;
+            }
+            for (Contribution contribution : contributed) {
+                Term term = contribution.term;
+                term.remove(contribution.value, contribution.city);
+                invalidate(term);
+                if (term.count == 0) {
+                    terms.remove(term.id);
+                    for (Node node : term.nodes) {
+                        node.terms.remove(term);
+                    }
+                }
+            }
+        }
+
+        List<Term> top(String prefix) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+
+            List<Term> top = node.top;
+            if (top == null) {
+                Set<Term> reachable = new LinkedHashSet<>();
+                node.collect(reachable);
+                top = reachable.stream()
+                        .sorted(Comparator.comparingLong((Term term) -> term.count).reversed()
+                                .thenComparing(Term::display))
+                        .limit(MAX_SUGGESTIONS)
+                        .toList();
+                node.top = top;
+            }
+            return top;
+        }
+
+        private Term term(String id, SuggestionDto.Type type, String key) {
+            return terms.computeIfAbsent(id, k -> {
+                Term term = new Term(id, type);
+                // kazdy poczatek slowa, zeby "biala" znalazlo "Bielsko-Biała"
+                for (int i = 0; i < key.length(); i++) {
+                    if (Character.isLetterOrDigit(key.charAt(i))
+                            && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)))) {
+                        Node node = root.insert(key, i);
+                        node.terms.add(term);
+                        term.nodes.add(node);
+                    }
+                }
+                return term;
+            });
+        }
+
+        // ranking zmienia sie przy kazdej zmianie licznika - kasujemy cache na sciezkach terminu
+        private void invalidate(Term term) {
+            for (Node node : term.nodes) {
+                for (Node current = node; current != null; current = current.parent) {
+                    current.top = null;
+                }
+            }
+        }
+    }
+
+    private record Contribution(Term term, String value, String city) {}
+
+    private static final class Node {
+
+        private final Node parent;
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Term> terms = new ArrayList<>(1);
+        private volatile List<Term> top;
+
+        Node() {
+            this(null);
+        }
+
+        Node(Node parent) {
+            this.parent = parent;
+        }
+
+        Node insert(String key, int from) {
+            Node node = this;
+            for (int i = from; i < key.length(); i++) {
+                Node current = node;
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node(current));
+            }
+            return node;
+        }
+
+        void collect(Set<Term> into) {
+            into.addAll(terms);
+            for (Node child : children.values()) {
+                child.collect(into);
+            }
+        }
+    }
+
+    private static final class Term {
+
+        private final String id;
+        private final SuggestionDto.Type type;
+        private final List<Node> nodes = new ArrayList<>(2);
+        private final Map<String, Integer> variants = new HashMap<>();
+        private final Map<String, Integer> cityVariants = new HashMap<>();
+        private long count;
+
+        Term(String id, SuggestionDto.Type type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        void add(String value, String city) {
+            count++;
+            variants.merge(value, 1, Integer::sum);
+            if (city != null) {
+                cityVariants.merge(city, 1, Integer::sum);
+            }
+        }
+
+        void remove(String value, String city) {
+            count--;
+            variants.computeIfPresent(value, (v, n) -> n == 1 ? null : n - 1);
+            if (city != null) {
+                cityVariants.computeIfPresent(city, (c, n) -> n == 1 ? null : n - 1);
+            }
+        }
+
+        String display() {
+            return mostCommon(variants);
+        }
+
+        SuggestionDto toDto() {
+            return new SuggestionDto(type, display(),
+                    type == SuggestionDto.Type.CITY ? display() : mostCommon(cityVariants), count);
+        }
+
+        private static String mostCommon(Map<String, Integer> variants) {
+            return variants.entrySet().stream()
+                    .max(Map.Entry.<String, Integer>comparingByValue()
+                            .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                    .map(Map.Entry::getKey)
+                    .orElse("");
+        }
+    }
+}
@@ -0,0 +1,3 @@
+CREATE INDEX idx_property_images_primary
+    ON property_images (property_id, sort_order)
+    WHERE is_primary;
@@ -0,0 +1,10 @@
+ALTER TABLE properties ADD COLUMN latitude DOUBLE PRECISION;
+ALTER TABLE properties ADD COLUMN longitude DOUBLE PRECISION;
+ALTER TABLE properties ADD COLUMN geohash VARCHAR(12);
+
+ALTER TABLE properties ADD CONSTRAINT chk_properties_location
+    CHECK ((latitude IS NULL) = (longitude IS NULL)
+        AND (latitude IS NULL OR (latitude BETWEEN -90 AND 90 AND longitude BETWEEN -180 AND 180)));
+
+-- prefiksy geohash (LIKE 'u3q%') - text_pattern_ops niezaleznie od collation bazy
+CREATE INDEX idx_properties_geohash ON properties (geohash text_pattern_ops) WHERE geohash IS NOT NULL;
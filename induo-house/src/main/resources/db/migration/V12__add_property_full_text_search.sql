@@ -0,0 +1,12 @@
+-- Postgres nie ma wbudowanego stemmera dla polskiego - slowa tylko bez ogonkow i malymi literami
+CREATE TEXT SEARCH CONFIGURATION public.polish_unaccent (COPY = pg_catalog.simple);
+ALTER TEXT SEARCH CONFIGURATION public.polish_unaccent
+    ALTER MAPPING FOR hword, hword_part, word WITH public.unaccent, simple;
+
+ALTER TABLE properties ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('public.polish_unaccent'::regconfig, coalesce(title, '')), 'A')
+    || setweight(to_tsvector('public.polish_unaccent'::regconfig, coalesce(city, '') || ' ' || coalesce(street, '')), 'B')
+    || setweight(to_tsvector('public.polish_unaccent'::regconfig, coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_properties_search_vector ON properties USING gin (search_vector);
@@ -0,0 +1,5 @@
+-- Hibernate rezerwuje 50 id na jedno nextval (pooled-lo), wiec sekwencje musza rosnac o 50.
+-- DEFAULT nextval(...) zostaje dla insertow spoza aplikacji
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE properties_id_seq INCREMENT BY 50;
+ALTER SEQUENCE property_images_id_seq INCREMENT BY 50;
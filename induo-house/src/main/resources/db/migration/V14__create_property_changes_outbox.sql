@@ -0,0 +1,25 @@
+-- Outbox zmian ogloszen: wiersz powstaje w tej samej transakcji co zmiana.
+-- tx_id to id transakcji zapisujacej - odbiorcy czytaja tylko wiersze transakcji starszych
+-- niz najstarsza otwarta (pg_snapshot_xmin), wiec kolejnosc (tx_id, id) nie ma dziur
+-- mimo ze id z sekwencji commituja sie w innej kolejnosci. Bez FK - DELETED zostaje po usunieciu ogloszenia
+CREATE TABLE property_changes (
+    id BIGINT PRIMARY KEY,
+    tx_id BIGINT NOT NULL DEFAULT pg_current_xact_id()::text::bigint,
+    property_id BIGINT NOT NULL,
+    change_type VARCHAR(20) NOT NULL,
+    changed_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE SEQUENCE property_changes_id_seq INCREMENT BY 50;
+
+CREATE INDEX idx_property_changes_position ON property_changes (tx_id, id);
+CREATE INDEX idx_property_changes_changed_at ON property_changes (changed_at);
+
+-- Pozycja kazdego odbiorcy w procesie; wiersz blokowany na czas dostarczenia paczki,
+-- wiec przy kilku instancjach aplikacji paczke dostarcza jedna z nich
+CREATE TABLE property_change_checkpoints (
+    subscriber VARCHAR(100) PRIMARY KEY,
+    tx_id BIGINT NOT NULL DEFAULT 0,
+    change_id BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
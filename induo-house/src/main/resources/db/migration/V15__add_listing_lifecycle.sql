@@ -0,0 +1,75 @@
+-- Cykl zycia ogloszenia: ACTIVE -> EXPIRED (po TTL) albo SOLD (wlasciciel), potem archiwum
+UPDATE properties SET status = 'ACTIVE' WHERE status IS NULL;
+ALTER TABLE properties ALTER COLUMN status SET NOT NULL;
+ALTER TABLE properties ADD CONSTRAINT chk_properties_status CHECK (status IN ('ACTIVE', 'EXPIRED', 'SOLD'));
+
+-- Wyszukiwanie czyta tylko aktywne ogloszenia, wiec indeksy wyszukiwania sa czesciowe.
+-- Planner uzyje ich tylko gdy zapytanie ma literal status = 'ACTIVE', nie parametr
+DROP INDEX idx_properties_status;
+
+DROP INDEX idx_properties_created_at_id;
+CREATE INDEX idx_properties_active_created_at_id
+    ON properties (created_at DESC, id DESC) WHERE status = 'ACTIVE';
+
+DROP INDEX idx_properties_type_price;
+CREATE INDEX idx_properties_active_type_price
+    ON properties (property_type, price) WHERE status = 'ACTIVE';
+
+-- Sam trigram miasta obsluguje juz pierwsza kolumna indeksu GIN ponizej
+DROP INDEX idx_properties_city_trgm;
+
+DROP INDEX idx_properties_city_tx_price;
+CREATE INDEX idx_properties_active_city_tx_price
+    ON properties USING gin (lower(immutable_unaccent(city)) gin_trgm_ops, transaction_type, price)
+    WHERE status = 'ACTIVE';
+
+DROP INDEX idx_properties_geohash;
+CREATE INDEX idx_properties_active_geohash
+    ON properties (geohash text_pattern_ops) WHERE status = 'ACTIVE' AND geohash IS NOT NULL;
+
+DROP INDEX idx_properties_search_vector;
+CREATE INDEX idx_properties_active_search_vector
+    ON properties USING gin (search_vector) WHERE status = 'ACTIVE';
+
+-- Kandydaci do wygaszenia i do archiwum
+CREATE INDEX idx_properties_active_updated_at ON properties (updated_at) WHERE status = 'ACTIVE';
+CREATE INDEX idx_properties_closed_updated_at ON properties (updated_at) WHERE status <> 'ACTIVE';
+
+-- Archiwum poza goraca tabela: bez FK do users i bez search_vector, ten sam ksztalt wiersza
+CREATE TABLE properties_archive (
+    id BIGINT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    price DECIMAL(12,2) NOT NULL,
+    area DECIMAL(8,2) NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    street VARCHAR(255) NOT NULL,
+    postal_code VARCHAR(10),
+    number_of_rooms INTEGER,
+    floor INTEGER,
+    total_floors INTEGER,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    geohash VARCHAR(12),
+    transaction_type VARCHAR(20) NOT NULL,
+    property_type VARCHAR(50) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    image_url VARCHAR(500),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_properties_archive_user_id ON properties_archive (user_id);
+
+CREATE TABLE property_images_archive (
+    id BIGINT PRIMARY KEY,
+    property_id BIGINT NOT NULL REFERENCES properties_archive(id) ON DELETE CASCADE,
+    url VARCHAR(500) NOT NULL,
+    is_primary BOOLEAN NOT NULL,
+    sort_order INTEGER NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_property_images_archive_property_id ON property_images_archive (property_id);
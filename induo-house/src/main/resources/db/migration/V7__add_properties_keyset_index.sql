@@ -0,0 +1 @@
+CREATE INDEX idx_properties_created_at_id ON properties (created_at DESC, id DESC);
@@ -0,0 +1,7 @@
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+
+-- miasto (trigramy) + typ transakcji + cena w jednym indeksie GIN
+CREATE INDEX idx_properties_city_tx_price
+    ON properties USING gin (lower(immutable_unaccent(city)) gin_trgm_ops, transaction_type, price);
+
+CREATE INDEX idx_properties_type_price ON properties (property_type, price);
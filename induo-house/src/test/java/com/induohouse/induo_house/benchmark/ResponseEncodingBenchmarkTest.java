@@ -0,0 +1,125 @@
+package com.induohouse.induo_house.benchmark;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.PageResponse;
+import com.induohouse.induo_house.dto.PropertyFields;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.service.PropertyPageCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+// Bajty na drucie i CPU serializacji strony 100 ogloszen: JSON vs CBOR, z gzip i bez.
+// Pomiar czasu: mvn test -Dtest=ResponseEncodingBenchmarkTest -Dbenchmark=true
+class ResponseEncodingBenchmarkTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 5_000;
+
+    private PropertyPageCache encoder;
+    private PageResponse<PropertyListResponse> page;
+
+    @BeforeEach
+    void setUp() {
+        // Jak w aplikacji: daty jako ISO-8601, moduly javatime
+        Jackson2ObjectMapperBuilder json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Jackson2ObjectMapperBuilder cbor = Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        encoder = new PropertyPageCache(json.build(), new MappingJackson2CborHttpMessageConverter(cbor.build()),
+                new SimpleMeterRegistry(), Duration.ofMinutes(5), 1_000_000, 0, DataSize.ofBytes(0),
+                new PrimaryReads(mock(PlatformTransactionManager.class), false));
+        page = samplePage();
+    }
+
+    @Test
+    void cborAndGzip_ShouldShrinkFullPage() {
+        PropertyPageCache.EncodedPage json = encode(MediaType.APPLICATION_JSON);
+        PropertyPageCache.EncodedPage cbor = encode(MediaType.APPLICATION_CBOR);
+
+        System.out.printf("%-12s %10s %10s%n", "format", "raw [B]", "gzip [B]");
+        System.out.printf("%-12s %10d %10d%n", "json", json.body().length, json.gzip().length);
+        System.out.printf("%-12s %10d %10d%n", "cbor", cbor.body().length, cbor.gzip().length);
+
+        assertTrue(cbor.body().length < json.body().length);
+        assertTrue(json.gzip().length < json.body().length / 3);
+        assertTrue(cbor.gzip().length < cbor.body().length);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void serializationCpu() {
+        System.out.printf("%-12s %12s%n", "format", "CPU [us/op]");
+        for (MediaType format : List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR)) {
+            for (boolean gzip : List.of(false, true)) {
+                double micros = cpuMicrosPerOp(format, gzip);
+                System.out.printf("%-12s %12.1f%n", format.getSubtype() + (gzip ? "+gzip" : ""), micros);
+            }
+        }
+    }
+
+    private double cpuMicrosPerOp(MediaType format, boolean gzip) {
+        for (int i = 0; i < WARMUP; i++) {
+            encoder.encode(page, PropertyFields.FULL_LIST, format, gzip);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long start = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoder.encode(page, PropertyFields.FULL_LIST, format, gzip);
+        }
+        return (threads.getCurrentThreadCpuTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private PropertyPageCache.EncodedPage encode(MediaType format) {
+        return encoder.encode(page, PropertyFields.FULL_LIST, format, true);
+    }
+
+    private static PageResponse<PropertyListResponse> samplePage() {
+        String[] cities = {"Kraków", "Warszawa", "Gdańsk", "Wrocław", "Poznań"};
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 12, 0);
+        List<PropertyListResponse> items = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            PropertyListResponse item = new PropertyListResponse();
+            item.setId(10_000L + i);
+            item.setTitle("Przestronne mieszkanie " + (i % 4 + 1) + "-pokojowe z balkonem, blisko centrum");
+            item.setPrice(new BigDecimal(350_000 + i * 2_750));
+            item.setArea(new BigDecimal("48.50").add(BigDecimal.valueOf(i)));
+            item.setCity(cities[i % cities.length]);
+            item.setNumberOfRooms(i % 4 + 1);
+            item.setLatitude(50.0614 + i * 0.0013);
+            item.setLongitude(19.9366 - i * 0.0011);
+            item.setTransactionType(i % 3 == 0 ? "RENT" : "SALE");
+            item.setPropertyType(i % 5 == 0 ? "HOUSE" : "APARTMENT");
+            item.setStatus("ACTIVE");
+            item.setThumbnailUrl("http://localhost:8080/uploads/images/" + (10_000 + i) + "-thumb.jpg");
+            item.setCreatedAt(base.minusHours(i * 7L));
+            item.setUpdatedAt(base.minusHours(i * 3L));
+            item.setOwnerFirstName("Jan");
+            item.setOwnerLastName("Kowalski");
+            item.setOwnerPhoneNumber("+48 600 100 " + String.format("%03d", i));
+            items.add(item);
+        }
+        return PageResponse.of(new PageImpl<>(items, PageRequest.of(0, PAGE_SIZE), 5_000));
+    }
+}
@@ -1,5 +1,9 @@
 package com.induohouse.induo_house.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.PropertyBatchResponse;
 import com.induohouse.induo_house.dto.response.PropertyListResponse;
 import com.induohouse.induo_house.dto.response.PropertyOwnerResponse;
 import com.induohouse.induo_house.dto.response.PropertyResponse;
@@ -8,7 +12,11 @@ import com.induohouse.induo_house.exception.PropertyAccessDeniedException;
 import com.induohouse.induo_house.exception.PropertyNotFoundException;
 import com.induohouse.induo_house.security.JwtService;
 import com.induohouse.induo_house.service.FileStorageService;
+import com.induohouse.induo_house.service.PropertyFacetService;
+import com.induohouse.induo_house.service.PropertyMapClusterService;
+import com.induohouse.induo_house.service.PropertyPageCache;
 import com.induohouse.induo_house.service.PropertyService;
+import com.induohouse.induo_house.service.PropertySuggestIndex;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
@@ -22,31 +30,47 @@ import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+// Bez cache stron - kazdy test stubuje wyszukiwanie po swojemu. Bez pollera outboxa, bo mocki
+// indeksow i cache sa tez jego odbiorcami
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK,
+        properties = {"app.search.page-cache.max-page=-1", "app.outbox.poller.enabled=false"})
 class PropertyControllerTest {
 
     @Autowired
     WebApplicationContext context;
 
     @MockitoBean PropertyService propertyService;
+    @MockitoBean PropertyFacetService propertyFacetService;
+    @MockitoBean PropertyMapClusterService propertyMapClusterService;
+    @MockitoBean PropertySuggestIndex propertySuggestIndex;
     @MockitoBean FileStorageService fileStorageService;
     @MockitoBean JwtService jwtService;
+    @MockitoSpyBean PropertyPageCache propertyPageCache;
 
     private MockMvc mockMvc() {
         return MockMvcBuilders
@@ -64,6 +88,31 @@ class PropertyControllerTest {
         return new UsernamePasswordAuthenticationToken(user, null, List.of());
     }
 
+    @Test
+    void export_ShouldRequireAgentOrAdmin() throws Exception {
+        mockMvc().perform(get("/api/properties/export"))
+                .andExpect(status().isUnauthorized());
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("jan@example.com");
+        user.setPasswordHash("hash");
+        user.setRole(User.Role.USER);
+        mockMvc().perform(get("/api/properties/export")
+                        .with(authentication(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()))))
+                .andExpect(status().isForbidden());
+    }
+
+    // Feed zaczyna sie od eksportu, wiec ma te same role
+    @Test
+    void changes_ShouldRequireAgentOrAdmin_LikeExport() throws Exception {
+        mockMvc().perform(get("/api/changes"))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc().perform(get("/api/changes").with(authentication(userAuth(1L, "jan@example.com"))))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void getById_ShouldReturn200_WhenPropertyExists() throws Exception {
         PropertyOwnerResponse owner = new PropertyOwnerResponse();
@@ -80,11 +129,14 @@ class PropertyControllerTest {
         response.setCity("Warszawa");
         response.setOwner(owner);
 
+        when(propertyService.getLastModified(1L)).thenReturn(LocalDateTime.of(2025, 3, 1, 12, 0));
         when(propertyService.getById(1L)).thenReturn(response);
 
         mockMvc().perform(get("/api/properties/1"))
                 .andDo(print())
                 .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(header().exists("Last-Modified"))
                 .andExpect(jsonPath("$.id", is(1)))
                 .andExpect(jsonPath("$.title", is("Piękne mieszkanie")))
                 .andExpect(jsonPath("$.city", is("Warszawa")))
@@ -93,7 +145,7 @@ class PropertyControllerTest {
 
     @Test
     void getById_ShouldReturn404_WhenPropertyNotFound() throws Exception {
-        when(propertyService.getById(999L))
+        when(propertyService.getLastModified(999L))
                 .thenThrow(new PropertyNotFoundException(999L));
 
         mockMvc().perform(get("/api/properties/999"))
@@ -101,6 +153,124 @@ class PropertyControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getById_ShouldReturn304WithoutLoadingProperty_WhenEtagMatches() throws Exception {
+        when(propertyService.getLastModified(1L)).thenReturn(LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        String etag = mockMvc().perform(get("/api/properties/1").header("If-None-Match", "\"stale\""))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc().perform(get("/api/properties/1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(propertyService, times(1)).getById(1L);
+    }
+
+    @Test
+    void getById_ShouldSendStrongEtagPerFormatAndFields() throws Exception {
+        when(propertyService.getLastModified(1L)).thenReturn(LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(propertyService.getById(1L)).thenReturn(new PropertyResponse());
+
+        String json = mockMvc().perform(get("/api/properties/1"))
+                .andReturn().getResponse().getHeader("ETag");
+        String cbor = mockMvc().perform(get("/api/properties/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader("ETag");
+        String titleOnly = mockMvc().perform(get("/api/properties/1").param("fields", "id,title"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        assertTrue(json.startsWith("\""));
+        assertNotEquals(json, cbor);
+        assertNotEquals(json, titleOnly);
+    }
+
+    @Test
+    void getAll_ShouldSendGzipOnlyWhenClientAcceptsIt() throws Exception {
+        byte[] json = "{\"content\":[]}".getBytes();
+        byte[] gzip = {0x1f, (byte) 0x8b, 1, 2, 3};
+        doReturn(new PropertyPageCache.EncodedPage(json, gzip, "W/\"page\"", MediaType.APPLICATION_JSON))
+                .when(propertyPageCache).get(any(), any(), anyBoolean(), any(), any(), any());
+
+        mockMvc().perform(get("/api/properties").header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(json));
+        mockMvc().perform(get("/api/properties").header("Accept-Encoding", "x-gzip"))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+        mockMvc().perform(get("/api/properties").header("Accept-Encoding", "br, gzip;q=0.5"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(content().bytes(gzip));
+    }
+
+    @Test
+    void getAll_ShouldReturn304_WhenPageIsUnchanged() throws Exception {
+        PropertyListResponse item = new PropertyListResponse();
+        item.setId(1L);
+        item.setUpdatedAt(LocalDateTime.of(2025, 3, 1, 12, 0));
+        when(propertyService.search(any(PropertySearchCriteria.class), any(Pageable.class), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(List.of(item), PageRequest.of(0, 12), 1));
+
+        String etag = mockMvc().perform(get("/api/properties").param("city", "Kraków"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc().perform(get("/api/properties").param("city", "Kraków").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        item.setUpdatedAt(LocalDateTime.of(2025, 3, 2, 12, 0));
+        mockMvc().perform(get("/api/properties").param("city", "Kraków").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void getBatch_ShouldReturnItemsAndMissingIds() throws Exception {
+        PropertyListResponse item = new PropertyListResponse();
+        item.setId(3L);
+        item.setTitle("Dom z ogrodem");
+        when(propertyService.getBatch(List.of(3L, 4L)))
+                .thenReturn(new PropertyBatchResponse(List.of(item), List.of(4L)));
+
+        mockMvc().perform(get("/api/properties/batch").param("ids", "3,4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title", is("Dom z ogrodem")))
+                .andExpect(jsonPath("$.missingIds[0]", is(4)));
+    }
+
+    @Test
+    void getAll_ShouldSerializeOnlyCardFields_WhenViewIsCard() throws Exception {
+        PropertyListResponse item = new PropertyListResponse();
+        item.setId(1L);
+        item.setTitle("Kawalerka");
+        item.setOwnerPhoneNumber("123456789");
+        when(propertyService.search(any(PropertySearchCriteria.class), any(Pageable.class), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(List.of(item), PageRequest.of(0, 12), 1));
+
+        mockMvc().perform(get("/api/properties").param("view", "card"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title", is("Kawalerka")))
+                .andExpect(jsonPath("$.content[0].ownerPhoneNumber").doesNotExist())
+                .andExpect(jsonPath("$.content[0].latitude").doesNotExist());
+    }
+
+    @Test
+    void getAll_ShouldEncodeCbor_WhenClientAsksForIt() throws Exception {
+        PropertyListResponse item = new PropertyListResponse();
+        item.setId(1L);
+        item.setTitle("Kawalerka");
+        when(propertyService.search(any(PropertySearchCriteria.class), any(Pageable.class), anyBoolean(), any()))
+                .thenReturn(new PageImpl<>(List.of(item), PageRequest.of(0, 12), 1));
+
+        byte[] body = mockMvc().perform(get("/api/properties").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode page = new CBORMapper().readTree(body);
+        assertEquals("Kawalerka", page.path("content").path(0).path("title").asText());
+    }
+
     @Test
     void getAll_ShouldReturn200WithPageContent() throws Exception {
         PropertyListResponse item = new PropertyListResponse();
@@ -113,9 +283,7 @@ class PropertyControllerTest {
                 new PageImpl<>(List.of(item), PageRequest.of(0, 20), 1);
 
         when(propertyService.search(
-                any(), any(), any(),
-                any(), any(), any(), any(),
-                any(), any(Pageable.class)
+                any(PropertySearchCriteria.class), any(Pageable.class), anyBoolean(), any()
         )).thenReturn(page);
 
         mockMvc().perform(get("/api/properties"))
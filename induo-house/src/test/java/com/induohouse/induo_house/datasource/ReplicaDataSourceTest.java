@@ -0,0 +1,121 @@
+package com.induohouse.induo_house.datasource;
+
+import com.induohouse.induo_house.entity.User;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private Replica first;
+    private Replica second;
+    private ReadYourWritesTracker readYourWrites;
+    private ReplicaDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        first = replica("replica-1");
+        second = replica("replica-2");
+        readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5), Duration.ofSeconds(2), 100);
+        dataSource = new ReplicaDataSource(primary, new ReplicaSet(List.of(first, second)), readYourWrites,
+                new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void getConnection_ShouldRotateOverHealthyReplicas() throws SQLException {
+        first.update(true, 0);
+        second.update(true, 0);
+
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        verify(first.dataSource()).getConnection();
+        verify(second.dataSource()).getConnection();
+    }
+
+    @Test
+    void getConnection_ShouldSkipLaggingReplica_AndFallBackToPrimaryWhenNoneIsHealthy() throws SQLException {
+        first.update(true, 0);
+        second.update(false, 30);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        assertSame(replicaConnection, dataSource.getConnection());
+        verify(second.dataSource(), never()).getConnection();
+
+        first.update(false, 30);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldReadFromPrimary_RightAfterUsersOwnWrite() throws SQLException {
+        first.update(true, 0);
+        second.update(true, 0);
+        User user = new User();
+        user.setId(7L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        assertSame(replicaConnection, dataSource.getConnection());
+
+        readYourWrites.markWrite(7L);
+        assertSame(primaryConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldReadFromPrimary_WhileFillingCaches() throws SQLException {
+        first.update(true, 0);
+        second.update(true, 0);
+        PrimaryReads primaryReads = new PrimaryReads(mock(PlatformTransactionManager.class), true);
+
+        Connection fill = primaryReads.call(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, fill);
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_ShouldTakeReplicaOutOfRotation_WhenItsPoolFails() throws SQLException {
+        first.update(true, 0);
+        when(first.dataSource().getConnection()).thenThrow(new SQLTransientConnectionException("timeout"));
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertFalse(first.isHealthy());
+    }
+
+    private Replica replica(String name) throws SQLException {
+        HikariDataSource pool = mock(HikariDataSource.class);
+        when(pool.getConnection()).thenReturn(replicaConnection);
+        return new Replica(name, pool);
+    }
+}
@@ -0,0 +1,63 @@
+package com.induohouse.induo_house.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ReplicaLagMonitorTest {
+
+    private final Replica replica = new Replica("replica-1", mock(HikariDataSource.class));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void check_ShouldKeepReplicaOut_UntilLagDropsBelowLimit() {
+        assertFalse(replica.isHealthy());
+
+        monitorReturning(12.5).check();
+        assertFalse(replica.isHealthy());
+        assertEquals(12.5, meterRegistry.get("datasource.replica.lag").gauge().value());
+
+        monitorReturning(0.3).check();
+        assertTrue(replica.isHealthy());
+        assertEquals(1.0, meterRegistry.get("datasource.replica.healthy").gauge().value());
+    }
+
+    @Test
+    void check_ShouldMarkUnreachableReplicaUnhealthy() {
+        replica.update(true, 0);
+
+        new ReplicaLagMonitor(new ReplicaSet(List.of(replica)), Duration.ofSeconds(5), meterRegistry) {
+            @Override
+            double measureLag(Replica replica) throws SQLException {
+                throw new SQLException("Connection refused");
+            }
+        }.check();
+
+        assertFalse(replica.isHealthy());
+    }
+
+    @Test
+    void check_ShouldTakeReplicaOut_WhenWalReceiverIsDown() {
+        replica.update(true, 0);
+
+        monitorReturning(Double.POSITIVE_INFINITY).check();
+
+        assertFalse(replica.isHealthy());
+    }
+
+    private ReplicaLagMonitor monitorReturning(double lag) {
+        return new ReplicaLagMonitor(new ReplicaSet(List.of(replica)), Duration.ofSeconds(5), meterRegistry) {
+            @Override
+            double measureLag(Replica replica) {
+                return lag;
+            }
+        };
+    }
+}
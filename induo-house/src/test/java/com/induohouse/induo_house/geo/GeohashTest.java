@@ -0,0 +1,39 @@
+package com.induohouse.induo_house.geo;
+
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeohashTest {
+
+    @Test
+    void encode_ShouldMatchReferenceHashes() {
+        assertEquals("u3qcnhhs5", Geohash.encode(52.2297, 21.0122, 9));
+        assertEquals("ezs42", Geohash.encode(42.6, -5.6, 5));
+    }
+
+    @Test
+    void covering_ShouldIncludeCellOfEveryPointInBox() {
+        GeoBox box = GeoBox.around(54.35, 18.65, 10);
+        List<String> cells = Geohash.covering(box, 16);
+
+        assertTrue(cells.size() <= 16);
+        for (double[] point : new double[][]{{54.35, 18.65}, {box.south(), box.west()}, {box.north(), box.east()}}) {
+            String hash = Geohash.encode(point[0], point[1], Geohash.MAX_PRECISION);
+            assertTrue(cells.stream().anyMatch(hash::startsWith), hash);
+        }
+    }
+
+    @Test
+    void parse_ShouldReadWestSouthEastNorth_AndRejectInvertedBox() {
+        GeoBox box = GeoBox.parse("18.5,54.3,18.7,54.5");
+
+        assertEquals(54.3, box.south());
+        assertEquals(18.5, box.west());
+        assertThrows(InvalidRequestParameterException.class, () -> GeoBox.parse("18.7,54.3,18.5,54.5"));
+        assertThrows(InvalidRequestParameterException.class, () -> GeoBox.parse("abc"));
+    }
+}
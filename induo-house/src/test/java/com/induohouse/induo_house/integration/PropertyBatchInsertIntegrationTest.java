@@ -0,0 +1,181 @@
+package com.induohouse.induo_house.integration;
+
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.PropertyImage;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.SessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.postgresql.core.BaseConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Round tripy do bazy przy zapisie ogloszen ze zdjeciami: batch JDBC vs wiersz po wierszu.
+// Benchmark na 10k ogloszen: mvn test -Dtest=PropertyBatchInsertIntegrationTest -Dbenchmark=true
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session.events.auto="
+        + "com.induohouse.induo_house.integration.PropertyBatchInsertIntegrationTest$RoundTrips")
+@Testcontainers
+class PropertyBatchInsertIntegrationTest {
+
+    private static final int IMAGES_PER_PROPERTY = 2;
+    private static final int FLUSH_EVERY = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+                    .asCompatibleSubstituteFor("postgres"))
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    // Hibernate tworzy instancje per sesja, liczniki sa wspolne
+    public static class RoundTrips implements SessionEventListener {
+        static final AtomicLong statements = new AtomicLong();
+        static final AtomicLong batches = new AtomicLong();
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            statements.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            batches.incrementAndGet();
+        }
+    }
+
+    record Result(long statements, long batches, long millis) {
+        long roundTrips() {
+            return statements + batches;
+        }
+    }
+
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private DataSource dataSource;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setEmail("batch-" + System.nanoTime() + "@test.com");
+        owner.setPasswordHash("$2a$10$hashedpassword");
+        owner.setFirstName("Jan");
+        owner.setRole(User.Role.USER);
+        ownerId = userRepository.save(owner).getId();
+    }
+
+    // Jak na produkcji sterownik przepisuje paczke na jeden wielowierszowy INSERT
+    @Test
+    void connection_ShouldRewriteBatchedInserts() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.unwrap(BaseConnection.class).getQueryExecutor().isReWriteBatchedInsertsEnabled());
+        }
+    }
+
+    @Test
+    void insert_ShouldGroupRowsIntoBatches_AndPoolSequenceCalls() {
+        int count = 200;
+        int rows = count * (1 + IMAGES_PER_PROPERTY);
+
+        Result perRow = insert(count, 1);
+        Result batched = insert(count, null);
+
+        // Bez batcha: kazdy INSERT osobno, plus jedno nextval na 50 id
+        assertEquals(0, perRow.batches());
+        assertTrue(perRow.statements() >= rows);
+        // Z batchem: paczki po 50 wierszy i te same nextval
+        assertTrue(batched.batches() >= rows / 50);
+        assertTrue(batched.roundTrips() <= rows / 50 * 2 + 4,
+                "expected batched inserts and pooled ids, got " + batched);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void benchmark_TenThousandPropertiesWithImages() {
+        int count = 10_000;
+        insert(500, null);
+
+        Result perRow = insert(count, 1);
+        Result batched = insert(count, null);
+
+        System.out.printf("%-10s %12s %10s %10s%n", "mode", "round trips", "batches", "time [ms]");
+        System.out.printf("%-10s %12d %10d %10d%n", "per-row", perRow.roundTrips(), perRow.batches(), perRow.millis());
+        System.out.printf("%-10s %12d %10d %10d%n", "batched", batched.roundTrips(), batched.batches(), batched.millis());
+
+        assertTrue(batched.roundTrips() * 20 < perRow.roundTrips());
+    }
+
+    // jdbcBatchSize null = ustawienie z hibernate.jdbc.batch_size, 1 = bez batcha
+    private Result insert(int count, Integer jdbcBatchSize) {
+        RoundTrips.statements.set(0);
+        RoundTrips.batches.set(0);
+        long start = System.nanoTime();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            User owner = entityManager.getReference(User.class, ownerId);
+            for (int i = 0; i < count; i++) {
+                entityManager.persist(property(owner, i));
+                if ((i + 1) % FLUSH_EVERY == 0) {
+                    entityManager.flush();
+                    entityManager.clear();
+                    owner = entityManager.getReference(User.class, ownerId);
+                }
+            }
+        });
+
+        return new Result(RoundTrips.statements.get(), RoundTrips.batches.get(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static Property property(User owner, int i) {
+        Property property = new Property();
+        property.setTitle("Mieszkanie " + i);
+        property.setPrice(new BigDecimal(300_000 + i));
+        property.setArea(new BigDecimal("48"));
+        property.setCity("Kraków");
+        property.setStreet("Batchowa " + i);
+        property.setTransactionType("SALE");
+        property.setPropertyType("APARTMENT");
+        property.setUser(owner);
+        for (int j = 0; j < IMAGES_PER_PROPERTY; j++) {
+            PropertyImage image = new PropertyImage();
+            image.setProperty(property);
+            image.setUrl("/uploads/images/" + i + "-" + j + ".jpg");
+            image.setPrimary(j == 0);
+            image.setSortOrder(j);
+            property.getImages().add(image);
+        }
+        return property;
+    }
+}
@@ -0,0 +1,146 @@
+package com.induohouse.induo_house.integration;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.response.ChangeFeedResponse;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.dto.response.PropertyResponse;
+import com.induohouse.induo_house.entity.PropertyChange;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyChangeRepository;
+import com.induohouse.induo_house.repository.UserRepository;
+import com.induohouse.induo_house.service.PropertyChangeOutbox;
+import com.induohouse.induo_house.service.PropertyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Outbox na prawdziwym Postgresie: zapis w transakcji zmiany i kolejnosc bez dziur
+// przy transakcjach commitujacych w innej kolejnosci niz dostaly id
+@SpringBootTest(properties = "app.outbox.poller.enabled=false")
+@Testcontainers
+class PropertyChangeOutboxIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+                    .asCompatibleSubstituteFor("postgres"))
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired private PropertyService propertyService;
+    @Autowired private PropertyChangeOutbox outbox;
+    @Autowired private PropertyChangeRepository changeRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private String head;
+
+    @BeforeEach
+    void setUp() {
+        changeRepository.deleteAll();
+        head = ChangeCursor.START.encode();
+    }
+
+    @Test
+    void mutations_ShouldAppendChangesInSameTransaction() {
+        User owner = new User();
+        owner.setEmail("outbox-" + System.nanoTime() + "@test.com");
+        owner.setPasswordHash("$2a$10$hashedpassword");
+        owner.setFirstName("Jan");
+        owner.setRole(User.Role.USER);
+        owner = userRepository.save(owner);
+
+        PropertyResponse created = propertyService.create(request(), owner.getId());
+        propertyService.delete(created.getId(), owner.getId());
+
+        List<PropertyChangeDto> changes = outbox.changesSince(head, 10).changes();
+        assertEquals(List.of(ChangeType.CREATED, ChangeType.DELETED),
+                changes.stream().map(PropertyChangeDto::type).toList());
+        assertTrue(changes.stream().allMatch(change -> change.propertyId().equals(created.getId())));
+    }
+
+    @Test
+    void rolledBackMutation_ShouldLeaveNoChange() {
+        transactionTemplate.executeWithoutResult(status -> {
+            changeRepository.saveAndFlush(new PropertyChange(1L, ChangeType.UPDATED));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(outbox.changesSince(head, 10).changes().isEmpty());
+    }
+
+    @Test
+    void feed_ShouldHoldBackLaterCommits_UntilOlderTransactionFinishes() throws Exception {
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    changeRepository.saveAndFlush(new PropertyChange(1L, ChangeType.UPDATED));
+                    written.countDown();
+                    await(release);
+                }));
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+
+        transactionTemplate.executeWithoutResult(status ->
+                changeRepository.save(new PropertyChange(2L, ChangeType.UPDATED)));
+
+        // Wolna transakcja wciaz otwarta - szybszy commit nie moze wyprzedzic jej w feedzie
+        ChangeFeedResponse whileOpen = outbox.changesSince(head, 10);
+        assertTrue(whileOpen.changes().isEmpty());
+
+        release.countDown();
+        slow.get(10, TimeUnit.SECONDS);
+
+        ChangeFeedResponse afterCommit = outbox.changesSince(whileOpen.next(), 10);
+        assertEquals(List.of(1L, 2L), afterCommit.changes().stream().map(PropertyChangeDto::propertyId).toList());
+        assertTrue(outbox.changesSince(afterCommit.next(), 10).changes().isEmpty());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CreatePropertyRequest request() {
+        CreatePropertyRequest request = new CreatePropertyRequest();
+        request.setTitle("Mieszkanie z outboxa");
+        request.setPrice(new BigDecimal("450000"));
+        request.setArea(new BigDecimal("52.5"));
+        request.setCity("Kraków");
+        request.setStreet("Długa 1");
+        request.setTransactionType("SALE");
+        request.setPropertyType("APARTMENT");
+        return request;
+    }
+}
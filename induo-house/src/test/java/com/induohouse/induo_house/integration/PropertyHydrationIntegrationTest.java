@@ -0,0 +1,138 @@
+package com.induohouse.induo_house.integration;
+
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.PropertyImage;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import com.induohouse.induo_house.repository.UserRepository;
+import com.induohouse.induo_house.service.PropertyService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Strony z /city, /type, /user, /price-range i /my: id + count + jedno zapytanie hydracji
+@SpringBootTest
+@Testcontainers
+class PropertyHydrationIntegrationTest {
+
+    private static final int LISTINGS = 8;
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+                    .asCompatibleSubstituteFor("postgres"))
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired private PropertyService propertyService;
+    @Autowired private PropertyRepository propertyRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User owner;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        owner = new User();
+        owner.setEmail("jan@test.com");
+        owner.setPasswordHash("$2a$10$hashedpassword");
+        owner.setFirstName("Jan");
+        owner.setRole(User.Role.USER);
+        owner = userRepository.save(owner);
+
+        for (int i = 0; i < LISTINGS; i++) {
+            Property property = new Property();
+            property.setTitle("Mieszkanie " + i);
+            property.setPrice(new BigDecimal(400_000 + i * 10_000));
+            property.setArea(new BigDecimal("55"));
+            property.setCity("Kraków");
+            property.setStreet("Testowa " + i);
+            property.setTransactionType("SALE");
+            property.setPropertyType("APARTMENT");
+            property.setUser(owner);
+            property.getImages().add(image(property, "/img/" + i + "-a.jpg", true));
+            property.getImages().add(image(property, "/img/" + i + "-b.jpg", false));
+            propertyRepository.save(property);
+        }
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void legacyListEndpoints_ShouldUseSameQueryCount_ForAnyPageSize() {
+        for (int size : new int[] {3, 6}) {
+            PageRequest pageable = PageRequest.of(0, size, Sort.by("price"));
+
+            assertHydrated(size, () -> propertyService.getByCity("Kraków", pageable));
+            assertHydrated(size, () -> propertyService.getByType("APARTMENT", pageable));
+            assertHydrated(size, () -> propertyService.getByUserId(owner.getId(), pageable));
+            assertHydrated(size, () -> propertyService.getByPriceRange(
+                    new BigDecimal("0"), new BigDecimal("10000000"), pageable));
+        }
+    }
+
+    @Test
+    void getByUserId_ShouldKeepPageOrder_AndFillThumbnailAndOwner() {
+        Page<PropertyListResponse> page = propertyService.getByUserId(
+                owner.getId(), PageRequest.of(1, 3, Sort.by(Sort.Direction.DESC, "price")));
+
+        assertEquals(LISTINGS, page.getTotalElements());
+        assertEquals("Mieszkanie 4", page.getContent().get(0).getTitle());
+        assertEquals("Mieszkanie 2", page.getContent().get(2).getTitle());
+        assertEquals("/img/4-a.jpg", page.getContent().get(0).getThumbnailUrl());
+        assertEquals("Jan", page.getContent().get(0).getOwnerFirstName());
+    }
+
+    private void assertHydrated(int size, Supplier<Page<PropertyListResponse>> call) {
+        statistics.clear();
+
+        Page<PropertyListResponse> page = call.get();
+
+        assertEquals(size, page.getNumberOfElements());
+        assertEquals(LISTINGS, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(item -> item.getThumbnailUrl() != null));
+        // id strony, count, wiersze z miniatura i wlascicielem
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private static PropertyImage image(Property property, String url, boolean primary) {
+        PropertyImage image = new PropertyImage();
+        image.setProperty(property);
+        image.setUrl(url);
+        image.setPrimary(primary);
+        return image;
+    }
+}
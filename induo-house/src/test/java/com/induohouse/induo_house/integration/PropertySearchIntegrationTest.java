@@ -0,0 +1,254 @@
+package com.induohouse.induo_house.integration;
+
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.FacetCountDto;
+import com.induohouse.induo_house.dto.response.PropertyFacetsResponse;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.dto.response.RangeFacetCountDto;
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.PropertyImage;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import com.induohouse.induo_house.repository.UserRepository;
+import com.induohouse.induo_house.service.PropertyExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.induohouse.induo_house.integration.RecordingStatementInspector")
+@Testcontainers
+class PropertySearchIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+                    .asCompatibleSubstituteFor("postgres"))
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired private PropertyRepository propertyRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private PropertyExportService propertyExportService;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private User savedUser;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setEmail("jan@test.com");
+        user.setPasswordHash("$2a$10$hashedpassword");
+        user.setFirstName("Jan");
+        user.setRole(User.Role.USER);
+        savedUser = userRepository.save(user);
+    }
+
+    @Test
+    void search_ShouldMatchCityWithoutDiacritics() {
+        propertyRepository.save(buildProperty("Kawalerka Zaspa", "Gdańsk"));
+        propertyRepository.save(buildProperty("Dom Oliwa", "GDAŃSK"));
+        propertyRepository.save(buildProperty("Loft", "Łódź"));
+        propertyRepository.save(buildProperty("Mieszkanie", "Kraków"));
+
+        List<PropertyListResponse> gdansk = propertyRepository.search(
+                PropertySearchCriteria.builder().city("gdansk").build(), PageRequest.of(0, 10));
+        List<PropertyListResponse> lodz = propertyRepository.search(
+                PropertySearchCriteria.builder().city("Lodz").build(), PageRequest.of(0, 10));
+
+        assertEquals(2, gdansk.size());
+        assertEquals(1, lodz.size());
+        assertEquals("Łódź", lodz.get(0).getCity());
+    }
+
+    @Test
+    void search_ShouldProjectPrimaryThumbnailAndOwner() {
+        Property property = buildProperty("Apartament", "Warszawa");
+        property.getImages().add(image(property, "/img/second.jpg", false, 0));
+        property.getImages().add(image(property, "/img/primary.jpg", true, 1));
+        propertyRepository.save(property);
+
+        List<PropertyListResponse> result = propertyRepository.search(
+                new PropertySearchCriteria(), PageRequest.of(0, 10));
+
+        assertEquals(1, result.size());
+        assertEquals("/img/primary.jpg", result.get(0).getThumbnailUrl());
+        assertEquals("Jan", result.get(0).getOwnerFirstName());
+        assertNotNull(result.get(0).getCreatedAt());
+    }
+
+    @Test
+    void export_ShouldStreamOnlyActiveListings_WithPrimaryImage() throws Exception {
+        Property active = buildProperty("Apartament, z \"widokiem\"", "Warszawa");
+        active.getImages().add(image(active, "/img/primary.jpg", true, 0));
+        propertyRepository.save(active);
+        Property sold = buildProperty("Sprzedane", "Kraków");
+        sold.setStatus("SOLD");
+        propertyRepository.save(sold);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long count = propertyExportService.export(PropertyExportService.Format.CSV, csv);
+
+        List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(1, count);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"Apartament, z \"\"widokiem\"\"\""));
+        assertTrue(lines.get(1).contains("/img/primary.jpg"));
+        assertFalse(csv.toString(StandardCharsets.UTF_8).contains("Sprzedane"));
+    }
+
+    @Test
+    void search_ShouldMatchKeywordsWithoutDiacritics_RankedByRelevance() {
+        Property titleHit = buildProperty("Mieszkanie z balkonem przy metrze", "Warszawa");
+        Property descriptionHit = buildProperty("Kawalerka", "Warszawa");
+        descriptionHit.setDescription("Duży balkon, blisko tramwaju");
+        propertyRepository.save(descriptionHit);
+        propertyRepository.save(titleHit);
+        propertyRepository.save(buildProperty("Dom z ogrodem", "Kraków"));
+
+        List<PropertyListResponse> result = propertyRepository.search(
+                PropertySearchCriteria.builder().q("balkon").build(), PageRequest.of(0, 10));
+        List<PropertyListResponse> folded = propertyRepository.search(
+                PropertySearchCriteria.builder().q("duzy").city("warszawa").build(), PageRequest.of(0, 10));
+
+        assertEquals(List.of("Kawalerka"), folded.stream().map(PropertyListResponse::getTitle).toList());
+        assertEquals(List.of("Mieszkanie z balkonem przy metrze", "Kawalerka"),
+                result.stream().map(PropertyListResponse::getTitle).toList());
+    }
+
+    @Test
+    void search_ShouldFilterByRadiusAndBoundingBox() {
+        propertyRepository.save(located(buildProperty("Śródmieście", "Gdańsk"), 54.3520, 18.6466));
+        propertyRepository.save(located(buildProperty("Monciak", "Sopot"), 54.4416, 18.5601));
+        propertyRepository.save(buildProperty("Bez lokalizacji", "Gdańsk"));
+
+        List<PropertyListResponse> nearby = propertyRepository.search(
+                PropertySearchCriteria.builder().lat(54.35).lon(18.65).radiusKm(5.0).build(), PageRequest.of(0, 10));
+        List<PropertyListResponse> inBox = propertyRepository.search(
+                PropertySearchCriteria.builder().bbox("18.4,54.3,18.7,54.5").build(), PageRequest.of(0, 10));
+
+        assertEquals(List.of("Śródmieście"), nearby.stream().map(PropertyListResponse::getTitle).toList());
+        assertEquals(2, inBox.size());
+        assertEquals(54.3520, nearby.get(0).getLatitude());
+    }
+
+    @Test
+    void facets_ShouldCountEachDimension_InSingleQuery() {
+        propertyRepository.save(buildProperty("A", "Gdańsk"));
+        propertyRepository.save(buildProperty("B", "Gdańsk"));
+        Property rent = buildProperty("C", "Kraków");
+        rent.setTransactionType("RENT");
+        rent.setPrice(new BigDecimal("2500"));
+        propertyRepository.save(rent);
+
+        PropertyFacetsResponse facets = propertyRepository.facets(new PropertySearchCriteria());
+
+        assertEquals(3, facets.total());
+        assertEquals(new FacetCountDto("Gdańsk", 2), facets.cities().get(0));
+        assertEquals(2, facets.transactionTypes().size());
+        assertEquals(3, facets.priceRanges().stream().mapToLong(RangeFacetCountDto::count).sum());
+
+        PropertyFacetsResponse filtered = propertyRepository.facets(
+                PropertySearchCriteria.builder().transactionType("SALE").build());
+        assertEquals(2, filtered.total());
+        assertEquals(1, filtered.cities().size());
+    }
+
+    @Test
+    void explain_ShouldUseCityIndex_ForGeneratedSearchQuery() {
+        jdbcTemplate.update("""
+                INSERT INTO properties (title, price, area, city, street, property_type, transaction_type, user_id)
+                SELECT 'Oferta ' || g, 100000 + g, 50,
+                       CASE WHEN g % 10000 = 0 THEN 'Gdańsk' ELSE 'Miasto ' || g % 700 END,
+                       'ul. Testowa ' || g, 'APARTMENT', 'SALE', ?
+                FROM generate_series(1, 50000) g
+                """, savedUser.getId());
+        jdbcTemplate.execute("ANALYZE properties");
+
+        RecordingStatementInspector.clear();
+        List<PropertyListResponse> found = propertyRepository.search(
+                PropertySearchCriteria.builder().city("gdansk").build(), PageRequest.of(0, 20));
+        String sql = RecordingStatementInspector.last("immutable_unaccent(p.city)");
+        Object[] args = {"gdansk", 20, 0L};
+
+        List<String> before = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("DROP INDEX idx_properties_active_city_tx_price");
+            List<String> plan = explain(sql, args);
+            status.setRollbackOnly();
+            return plan;
+        });
+        List<String> after = explain(sql, args);
+
+        System.out.println("EXPLAIN before:\n" + String.join("\n", before));
+        System.out.println("EXPLAIN after:\n" + String.join("\n", after));
+
+        assertEquals(5, found.size());
+        assertTrue(sql.contains("p.status = 'ACTIVE'"));
+        assertTrue(before.stream().anyMatch(line -> line.contains("Seq Scan on properties")));
+        assertTrue(after.stream().anyMatch(
+                line -> line.contains("Bitmap Index Scan on idx_properties_active_city_tx_price")));
+    }
+
+    // Domyslne ustawienia plannera - indeks musi wygrac kosztem, a nie przez enable_seqscan = off
+    private List<String> explain(String sql, Object... args) {
+        return jdbcTemplate.query("EXPLAIN " + sql, (rs, rowNum) -> rs.getString(1), args);
+    }
+
+    private PropertyImage image(Property property, String url, boolean primary, int sortOrder) {
+        PropertyImage image = new PropertyImage();
+        image.setProperty(property);
+        image.setUrl(url);
+        image.setPrimary(primary);
+        image.setSortOrder(sortOrder);
+        return image;
+    }
+
+    private Property located(Property property, double latitude, double longitude) {
+        property.setLatitude(latitude);
+        property.setLongitude(longitude);
+        return property;
+    }
+
+    private Property buildProperty(String title, String city) {
+        Property p = new Property();
+        p.setTitle(title);
+        p.setPrice(new BigDecimal("500000"));
+        p.setArea(new BigDecimal("60"));
+        p.setCity(city);
+        p.setStreet("Testowa 1");
+        p.setTransactionType("SALE");
+        p.setPropertyType("APARTMENT");
+        p.setUser(savedUser);
+        return p;
+    }
+}
@@ -0,0 +1,143 @@
+package com.induohouse.induo_house.integration;
+
+import com.induohouse.induo_house.datasource.ReplicaLagMonitor;
+import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.repository.UserRepository;
+import com.induohouse.induo_house.service.PropertyService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Dwa niezalezne kontenery zamiast prawdziwej replikacji: wiersz obecny tylko w "replice"
+// pokazuje, skad przyszedl odczyt. Instancja poza recovery ma zerowe opoznienie, wiec jest zdrowa
+@SpringBootTest(properties = {
+        "app.datasource.replicas.enabled=true",
+        "app.search.index.enabled=false",
+        "app.outbox.poller.enabled=false",
+        "app.lifecycle.enabled=false"
+})
+@Testcontainers
+class ReplicaRoutingIntegrationTest {
+
+    private static final String REPLICA_CITY = "Replikowo";
+
+    @Container
+    static PostgreSQLContainer<?> primary = container();
+
+    @Container
+    static PostgreSQLContainer<?> replica = container();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("app.datasource.replicas.urls", replica::getJdbcUrl);
+    }
+
+    @BeforeAll
+    static void seedReplica() throws SQLException {
+        Flyway.configure()
+                .dataSource(replica.getJdbcUrl(), replica.getUsername(), replica.getPassword())
+                .locations("classpath:db/migration")
+                .load()
+                .migrate();
+        try (Connection connection = DriverManager.getConnection(
+                replica.getJdbcUrl(), replica.getUsername(), replica.getPassword());
+             Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    WITH owner AS (
+                        INSERT INTO users (email, password_hash, first_name, role)
+                        VALUES ('replica@test.com', '$2a$10$hashedpassword', 'Anna', 'USER')
+                        RETURNING id)
+                    INSERT INTO properties (user_id, title, price, area, city, street, transaction_type, property_type)
+                    SELECT id, 'Tylko w replice', 300000, 40, '%s', 'Cicha 1', 'SALE', 'APARTMENT' FROM owner
+                    """.formatted(REPLICA_CITY));
+        }
+    }
+
+    @Autowired private PropertyService propertyService;
+    @Autowired private UserRepository userRepository;
+    @Autowired private ReplicaLagMonitor lagMonitor;
+
+    @BeforeEach
+    void setUp() {
+        lagMonitor.check();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        List<PropertyListResponse> rows = propertyService.getByCity(REPLICA_CITY, PageRequest.of(0, 10)).getContent();
+
+        assertEquals(List.of("Tylko w replice"), rows.stream().map(PropertyListResponse::getTitle).toList());
+    }
+
+    @Test
+    void ownWrite_ShouldBeVisibleToAuthor_WhileOthersStillReadReplica() {
+        User owner = new User();
+        owner.setEmail("primary-" + System.nanoTime() + "@test.com");
+        owner.setPasswordHash("$2a$10$hashedpassword");
+        owner.setFirstName("Jan");
+        owner.setRole(User.Role.USER);
+        owner = userRepository.save(owner);
+        String city = "Primarowo-" + System.nanoTime();
+
+        propertyService.create(request(city), owner.getId());
+
+        assertTrue(propertyService.getByCity(city, PageRequest.of(0, 10)).isEmpty());
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(owner, null, owner.getAuthorities()));
+        assertEquals(1, propertyService.getByCity(city, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private static CreatePropertyRequest request(String city) {
+        CreatePropertyRequest request = new CreatePropertyRequest();
+        request.setTitle("Nowe ogloszenie");
+        request.setPrice(new BigDecimal("450000"));
+        request.setArea(new BigDecimal("52.5"));
+        request.setCity(city);
+        request.setStreet("Długa 1");
+        request.setTransactionType("SALE");
+        request.setPropertyType("APARTMENT");
+        return request;
+    }
+
+    private static PostgreSQLContainer<?> container() {
+        return new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+                .asCompatibleSubstituteFor("postgres"))
+                .withDatabaseName("testdb")
+                .withUsername("test")
+                .withPassword("test");
+    }
+}
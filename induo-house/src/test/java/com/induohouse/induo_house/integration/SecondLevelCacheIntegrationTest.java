@@ -0,0 +1,126 @@
+package com.induohouse.induo_house.integration;
+
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.PropertyImage;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import com.induohouse.induo_house.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Testcontainers
+class SecondLevelCacheIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>(DockerImageName.parse("pgvector/pgvector:pg16")
+                    .asCompatibleSubstituteFor("postgres"))
+                    .withDatabaseName("testdb")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+    }
+
+    @Autowired private PropertyRepository propertyRepository;
+    @Autowired private UserRepository userRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private User savedUser;
+    private Property savedProperty;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = new User();
+        user.setEmail("jan@test.com");
+        user.setPasswordHash("$2a$10$hashedpassword");
+        user.setFirstName("Jan");
+        user.setRole(User.Role.USER);
+        savedUser = userRepository.save(user);
+
+        Property property = new Property();
+        property.setTitle("Mieszkanie z cache");
+        property.setPrice(new BigDecimal("500000"));
+        property.setArea(new BigDecimal("60"));
+        property.setCity("Kraków");
+        property.setStreet("Testowa 1");
+        property.setTransactionType("SALE");
+        property.setPropertyType("APARTMENT");
+        property.setUser(savedUser);
+        PropertyImage image = new PropertyImage();
+        image.setProperty(property);
+        image.setUrl("/uploads/a.jpg");
+        image.setPrimary(true);
+        property.getImages().add(image);
+        savedProperty = propertyRepository.save(property);
+
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findById_ShouldSkipSql_OnRepeatReadOfPropertyOwnerAndImages() {
+        Long id = savedProperty.getId();
+
+        transactionTemplate.executeWithoutResult(status -> touch(propertyRepository.findById(id).orElseThrow()));
+        long coldStatements = statistics.getPrepareStatementCount();
+        assertTrue(coldStatements >= 3, "property, user and images should be loaded from the database first");
+
+        transactionTemplate.executeWithoutResult(status -> touch(propertyRepository.findById(id).orElseThrow()));
+
+        assertEquals(coldStatements, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("properties").getHitCount() >= 1);
+        assertTrue(statistics.getDomainDataRegionStatistics("users").getHitCount() >= 1);
+        assertTrue(statistics.getDomainDataRegionStatistics("properties-images").getHitCount() >= 1);
+    }
+
+    @Test
+    void findByEmail_ShouldSkipSql_OnRepeatLookup_UntilUserChanges() {
+        userRepository.findByEmail("jan@test.com").orElseThrow();
+        long coldStatements = statistics.getPrepareStatementCount();
+
+        User cached = userRepository.findByEmail("jan@test.com").orElseThrow();
+
+        assertEquals(coldStatements, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals("Jan", cached.getFirstName());
+
+        cached.setFirstName("Janusz");
+        userRepository.save(cached);
+
+        assertEquals("Janusz", userRepository.findByEmail("jan@test.com").orElseThrow().getFirstName());
+    }
+
+    private static void touch(Property property) {
+        property.getUser().getEmail();
+        property.getImages().forEach(PropertyImage::getUrl);
+    }
+}
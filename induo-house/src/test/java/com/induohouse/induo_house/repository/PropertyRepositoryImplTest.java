@@ -0,0 +1,46 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.PropertyFields;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyRepositoryImplTest {
+
+    @Test
+    void listingSelect_ShouldSkipOwnerJoinAndThumbnail_ForMapView() {
+        String sql = PropertyRepositoryImpl.listingSelect(PropertyFields.forList("map", null));
+
+        assertTrue(sql.startsWith("SELECT p.id, p.created_at, p.title, p.price, p.latitude, p.longitude"));
+        assertFalse(sql.contains("JOIN users"));
+        assertFalse(sql.contains("property_images"));
+        assertFalse(sql.contains("p.description"));
+    }
+
+    @Test
+    void listingSelect_ShouldJoinOnlyWhatRequestedFieldsNeed() {
+        String card = PropertyRepositoryImpl.listingSelect(PropertyFields.forList("card", null));
+        String owner = PropertyRepositoryImpl.listingSelect(PropertyFields.forList(null, "title,ownerPhoneNumber"));
+
+        assertTrue(card.contains("thumb.url AS thumbnail_url"));
+        assertFalse(card.contains("JOIN users"));
+        assertTrue(owner.contains("JOIN users u ON u.id = p.user_id"));
+        assertTrue(owner.contains("u.phone_number"));
+        assertFalse(owner.contains("u.first_name"));
+    }
+
+    @Test
+    void listingSelect_ShouldSelectEverything_ForFullView() {
+        String sql = PropertyRepositoryImpl.listingSelect(PropertyFields.forList("full", null));
+
+        assertEquals(PropertyRepositoryImpl.listingSelect(PropertyFields.FULL_LIST), sql);
+        assertTrue(sql.contains("u.first_name") && sql.contains("thumbnail_url") && sql.contains("p.updated_at"));
+    }
+
+    @Test
+    void forList_ShouldRejectUnknownViewsAndFields() {
+        assertThrows(InvalidRequestParameterException.class, () -> PropertyFields.forList("tiny", null));
+        assertThrows(InvalidRequestParameterException.class, () -> PropertyFields.forList(null, "title,passwordHash"));
+    }
+}
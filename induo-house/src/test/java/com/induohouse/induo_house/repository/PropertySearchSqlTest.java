@@ -0,0 +1,107 @@
+package com.induohouse.induo_house.repository;
+
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertySearchSqlTest {
+
+    @Test
+    void whereClause_ShouldOnlyFilterActive_WhenNoFiltersGiven() {
+        PropertySearchSql sql = PropertySearchSql.from(PropertySearchCriteria.builder().city(" ").build());
+
+        assertEquals(" WHERE p.status = 'ACTIVE'", sql.whereClause());
+        assertEquals(" WHERE p.status = 'ACTIVE'", PropertySearchSql.from(null).whereClause());
+    }
+
+    @Test
+    void whereClause_ShouldContainOnlyPresentPredicates() {
+        PropertySearchSql sql = PropertySearchSql.from(PropertySearchCriteria.builder()
+                .city("Kraków")
+                .transactionType("SALE")
+                .maxPrice(new BigDecimal("800000"))
+                .build());
+
+        String where = sql.whereClause();
+
+        assertTrue(where.contains("immutable_unaccent(p.city)"));
+        assertTrue(where.contains("p.transaction_type = :transactionType"));
+        assertTrue(where.contains("p.price <= :maxPrice"));
+        assertFalse(where.contains("IS NULL"));
+        assertFalse(where.contains("p.property_type"));
+        assertFalse(where.contains("p.area"));
+    }
+
+    @Test
+    void after_ShouldAddKeysetPredicate() {
+        PropertySearchSql sql = PropertySearchSql.from(new PropertySearchCriteria())
+                .after(new PropertyCursor(LocalDateTime.now(), 5L));
+
+        assertEquals(" WHERE p.status = 'ACTIVE' AND (p.created_at, p.id) < (:afterCreatedAt, :afterId)",
+                sql.whereClause());
+    }
+
+    @Test
+    void whereClause_ShouldUseGeohashPrefixesAndDistance_ForRadiusSearch() {
+        PropertySearchSql sql = PropertySearchSql.from(PropertySearchCriteria.builder()
+                .lat(52.2297).lon(21.0122).radiusKm(2.0)
+                .build());
+
+        String where = sql.whereClause();
+
+        assertTrue(where.contains("p.geohash LIKE 'u3q"));
+        assertTrue(where.contains("p.latitude BETWEEN :south AND :north"));
+        assertTrue(where.contains("<= :radiusKm"));
+    }
+
+    @Test
+    void from_ShouldRejectIncompleteRadius() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> PropertySearchSql.from(PropertySearchCriteria.builder().lat(52.0).radiusKm(3.0).build()));
+    }
+
+    @Test
+    void orderClause_ShouldRankByRelevance_OnlyForUnsortedFullTextSearch() {
+        PropertySearchSql sql = PropertySearchSql.from(PropertySearchCriteria.builder().q("balkon metro").build());
+
+        assertTrue(sql.whereClause().contains("p.search_vector @@ to_tsquery('public.polish_unaccent', :q)"));
+        assertTrue(sql.orderClause(Sort.unsorted()).startsWith(" ORDER BY ts_rank(p.search_vector"));
+        assertEquals(" ORDER BY p.price ASC, p.id DESC", sql.orderClause(Sort.by("price")));
+        assertEquals(" ORDER BY p.created_at DESC, p.id DESC",
+                PropertySearchSql.from(new PropertySearchCriteria()).orderClause(Sort.unsorted()));
+    }
+
+    @Test
+    void prefixQuery_ShouldKeepOnlyWordTokens() {
+        assertEquals("balkon:* & metro:*", PropertySearchSql.prefixQuery("balkon & metro')!"));
+        assertEquals("żoliborz:*", PropertySearchSql.prefixQuery(" Żoliborz ".toLowerCase()));
+        assertNull(PropertySearchSql.prefixQuery("!!! ---"));
+    }
+
+    @Test
+    void from_ShouldRejectOverlongQuery() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> PropertySearchSql.from(PropertySearchCriteria.builder().q("a".repeat(201)).build()));
+    }
+
+    @Test
+    void orderBy_ShouldMapPropertiesAndAppendIdTiebreaker() {
+        assertEquals(" ORDER BY p.price ASC, p.id DESC",
+                PropertySearchSql.orderBy(Sort.by("price").ascending()));
+        assertEquals(" ORDER BY p.created_at DESC, p.id DESC",
+                PropertySearchSql.orderBy(Sort.unsorted()));
+    }
+
+    @Test
+    void orderBy_ShouldRejectUnknownProperty() {
+        assertThrows(InvalidRequestParameterException.class,
+                () -> PropertySearchSql.orderBy(Sort.by("price; DROP TABLE properties")));
+    }
+}
@@ -0,0 +1,100 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.response.ChangeFeedResponse;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.entity.PropertyChange;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.exception.ChangeCursorExpiredException;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.repository.PropertyChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class PropertyChangeOutboxTest {
+
+    private PropertyChangeRepository changeRepository;
+    private PropertyChangeOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        changeRepository = mock(PropertyChangeRepository.class);
+        outbox = new PropertyChangeOutbox(changeRepository);
+        when(changeRepository.findCheckpoint(PropertyChangeOutbox.PURGED_CHECKPOINT)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldAppendChangeRow() {
+        outbox.onPropertyChanged(new PropertyChangedEvent(7L, ChangeType.DELETED));
+
+        ArgumentCaptor<PropertyChange> saved = ArgumentCaptor.forClass(PropertyChange.class);
+        verify(changeRepository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getPropertyId());
+        assertEquals(ChangeType.DELETED, saved.getValue().getChangeType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void onPropertiesChanged_ShouldAppendOneCreatedRowPerProperty() {
+        outbox.onPropertiesChanged(new PropertiesChangedEvent(List.of(1L, 2L, 3L), ChangeType.CREATED));
+
+        ArgumentCaptor<List<PropertyChange>> saved = ArgumentCaptor.forClass(List.class);
+        verify(changeRepository).saveAll(saved.capture());
+        assertEquals(List.of(1L, 2L, 3L), saved.getValue().stream().map(PropertyChange::getPropertyId).toList());
+        assertTrue(saved.getValue().stream().allMatch(change -> change.getChangeType() == ChangeType.CREATED));
+    }
+
+    @Test
+    void changesSince_ShouldReturnNextCursor_AndKeepCursorWhenNothingNew() {
+        ChangeCursor since = new ChangeCursor(40, 3);
+        when(changeRepository.findSettledAfter(since, 2)).thenReturn(List.of(change(41, 5), change(42, 6)));
+        when(changeRepository.findSettledAfter(new ChangeCursor(42, 6), 2)).thenReturn(List.of());
+
+        ChangeFeedResponse page = outbox.changesSince(since.encode(), 2);
+        ChangeFeedResponse empty = outbox.changesSince(page.next(), 2);
+
+        assertEquals(List.of(5L, 6L), page.changes().stream().map(PropertyChangeDto::id).toList());
+        assertTrue(page.hasMore());
+        assertEquals(new ChangeCursor(42, 6), ChangeCursor.decode(page.next()));
+        assertEquals(page.next(), empty.next());
+        assertFalse(empty.hasMore());
+    }
+
+    @Test
+    void changesSince_ShouldRejectCursorOlderThanPurgedHistory() {
+        when(changeRepository.findCheckpoint(PropertyChangeOutbox.PURGED_CHECKPOINT))
+                .thenReturn(Optional.of(new ChangeCursor(100, 50)));
+        when(changeRepository.findSettledAfter(any(), anyInt())).thenReturn(List.of());
+
+        assertThrows(ChangeCursorExpiredException.class,
+                () -> outbox.changesSince(new ChangeCursor(99, 70).encode(), 10));
+        assertDoesNotThrow(() -> outbox.changesSince(null, 10));
+        assertDoesNotThrow(() -> outbox.changesSince(new ChangeCursor(100, 50).encode(), 10));
+    }
+
+    @Test
+    void changesSince_ShouldClampLimit_AndRejectGarbageCursor() {
+        when(changeRepository.findSettledAfter(any(), anyInt())).thenReturn(List.of());
+
+        outbox.changesSince(null, 100_000);
+
+        verify(changeRepository).findSettledAfter(ChangeCursor.START, PropertyChangeOutbox.MAX_FEED_SIZE);
+        assertThrows(InvalidRequestParameterException.class, () -> outbox.changesSince("nie-kursor", 10));
+    }
+
+    private static PropertyChangeDto change(long txId, long id) {
+        return new PropertyChangeDto(id, txId, 100 + id, ChangeType.CREATED, LocalDateTime.of(2026, 3, 1, 12, 0));
+    }
+}
@@ -0,0 +1,174 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.ChangeCursor;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PropertyChangePollerTest {
+
+    private PropertyChangeRepository changeRepository;
+    private RecordingSubscriber subscriber;
+    private PropertyChangePoller poller;
+
+    @BeforeEach
+    void setUp() {
+        changeRepository = mock(PropertyChangeRepository.class);
+        subscriber = new RecordingSubscriber("search-sync");
+        poller = poller(subscriber);
+    }
+
+    @Test
+    void deliver_ShouldPassBatchesInOrder_AndMoveCheckpointToLastChange() {
+        when(changeRepository.lockCheckpoint("search-sync")).thenReturn(
+                Optional.of(ChangeCursor.START), Optional.of(new ChangeCursor(11, 2)));
+        when(changeRepository.findSettledAfter(ChangeCursor.START, 2)).thenReturn(List.of(change(10, 1), change(11, 2)));
+        when(changeRepository.findSettledAfter(new ChangeCursor(11, 2), 2)).thenReturn(List.of(change(12, 3)));
+
+        int delivered = poller.deliver(subscriber);
+
+        assertEquals(3, delivered);
+        assertEquals(List.of(1L, 2L, 3L), subscriber.received.stream().map(PropertyChangeDto::id).toList());
+        verify(changeRepository).saveCheckpoint("search-sync", new ChangeCursor(11, 2));
+        verify(changeRepository).saveCheckpoint("search-sync", new ChangeCursor(12, 3));
+    }
+
+    @Test
+    void poll_ShouldKeepCheckpoint_WhenSubscriberFails() {
+        RecordingSubscriber failing = new RecordingSubscriber("alerts") {
+            @Override
+            public void onChanges(List<PropertyChangeDto> changes) {
+                throw new IllegalStateException("alert service down");
+            }
+        };
+        poller = poller(failing);
+        when(changeRepository.lockCheckpoint("alerts")).thenReturn(Optional.of(ChangeCursor.START));
+        when(changeRepository.findSettledAfter(ChangeCursor.START, 2)).thenReturn(List.of(change(10, 1)));
+
+        assertDoesNotThrow(() -> poller.poll());
+
+        verify(changeRepository, never()).saveCheckpoint(any(), any());
+    }
+
+    @Test
+    void deliver_ShouldSkipSubscriber_LockedByAnotherInstance() {
+        when(changeRepository.lockCheckpoint("search-sync")).thenReturn(Optional.empty());
+
+        assertEquals(0, poller.deliver(subscriber));
+
+        verify(changeRepository, never()).findSettledAfter(any(), anyInt());
+        assertTrue(subscriber.received.isEmpty());
+    }
+
+    @Test
+    void purge_ShouldNotDeleteChangesNotYetDeliveredToSubscriber() {
+        when(changeRepository.findLastBefore(any(LocalDateTime.class))).thenReturn(Optional.of(new ChangeCursor(50, 9)));
+        when(changeRepository.findCheckpoint("search-sync")).thenReturn(Optional.of(new ChangeCursor(30, 4)));
+        when(changeRepository.findCheckpoint(PropertyChangeOutbox.PURGED_CHECKPOINT)).thenReturn(Optional.empty());
+
+        poller.purge();
+
+        verify(changeRepository).deleteThrough(new ChangeCursor(30, 4));
+        verify(changeRepository).saveCheckpoint(PropertyChangeOutbox.PURGED_CHECKPOINT, new ChangeCursor(30, 4));
+    }
+
+    @Test
+    void perInstanceSubscriber_ShouldStartAtHead_AndKeepOwnCheckpoint() {
+        RecordingSubscriber cache = new RecordingSubscriber("detail-cache") {
+            @Override
+            public boolean perInstance() {
+                return true;
+            }
+        };
+        poller = poller(cache);
+        when(changeRepository.lockCheckpoint("detail-cache@node-1")).thenReturn(Optional.of(new ChangeCursor(40, 7)));
+        when(changeRepository.findSettledAfter(new ChangeCursor(40, 7), 2)).thenReturn(List.of(change(41, 8)));
+
+        poller.startPerInstanceSubscribers();
+        poller.deliver(cache);
+
+        verify(changeRepository).resetCheckpointToHead("detail-cache@node-1");
+        verify(changeRepository).saveCheckpoint("detail-cache@node-1", new ChangeCursor(41, 8));
+        assertEquals(List.of(8L), cache.received.stream().map(PropertyChangeDto::id).toList());
+    }
+
+    @Test
+    void purge_ShouldDropCheckpointsOfInstancesIdleLongerThanRetention() {
+        when(changeRepository.findLastBefore(any(LocalDateTime.class))).thenReturn(Optional.empty());
+
+        poller.purge();
+
+        verify(changeRepository).deleteCheckpointsIdleBefore(eq("%@%"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void heartbeat_ShouldTouchOwnPerInstanceCheckpoints_WithoutMovingThem() {
+        RecordingSubscriber cache = new RecordingSubscriber("detail-cache") {
+            @Override
+            public boolean perInstance() {
+                return true;
+            }
+        };
+        poller = poller(subscriber, cache);
+
+        poller.heartbeat();
+
+        verify(changeRepository).touchCheckpoints(List.of("detail-cache@node-1"));
+        verify(changeRepository, never()).saveCheckpoint(any(), any());
+    }
+
+    @Test
+    void constructor_ShouldRejectReservedSubscriberName() {
+        assertThrows(IllegalStateException.class, () -> poller(new RecordingSubscriber("_purged")));
+        assertThrows(IllegalStateException.class, () -> poller(new RecordingSubscriber("cache@node-2")));
+    }
+
+    private PropertyChangePoller poller(PropertyChangeSubscriber... subscribers) {
+        @SuppressWarnings("unchecked")
+        ObjectProvider<PropertyChangeSubscriber> provider = mock(ObjectProvider.class);
+        when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(subscribers));
+        return new PropertyChangePoller(changeRepository, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                provider, 2, 5, Duration.ofDays(7), "node-1");
+    }
+
+    private static PropertyChangeDto change(long txId, long id) {
+        return new PropertyChangeDto(id, txId, 100 + id, ChangeType.UPDATED, LocalDateTime.of(2026, 3, 1, 12, 0));
+    }
+
+    private static class RecordingSubscriber implements PropertyChangeSubscriber {
+        final List<PropertyChangeDto> received = new ArrayList<>();
+        private final String name;
+
+        RecordingSubscriber(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void onChanges(List<PropertyChangeDto> changes) {
+            received.addAll(changes);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PropertyCountCacheTest {
+
+    private PropertyCountCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PropertyCountCache(Duration.ofMinutes(1), 100, new PrimaryReads(mock(PlatformTransactionManager.class), false));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldReuseCount_ForEquivalentFilters() {
+        PropertySearchCriteria first = PropertySearchCriteria.builder()
+                .city(" Kraków ").minPrice(new BigDecimal("300000.00")).build();
+        PropertySearchCriteria second = PropertySearchCriteria.builder()
+                .city("kraków").minPrice(new BigDecimal("300000")).build();
+
+        assertEquals(42, cache.get(first, () -> { loads.incrementAndGet(); return 42; }));
+        assertEquals(42, cache.get(second, () -> { loads.incrementAndGet(); return 7; }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldInvalidate_OnlyForListingChanges() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        cache.get(criteria, () -> { loads.incrementAndGet(); return 10; });
+
+        cache.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.IMAGES_CHANGED));
+        cache.get(criteria, () -> { loads.incrementAndGet(); return 10; });
+        assertEquals(1, loads.get());
+
+        cache.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.CREATED));
+        cache.get(criteria, () -> { loads.incrementAndGet(); return 11; });
+        assertEquals(2, loads.get());
+    }
+}
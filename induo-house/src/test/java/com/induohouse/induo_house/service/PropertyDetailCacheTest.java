@@ -0,0 +1,64 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.PropertyResponse;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PropertyDetailCacheTest {
+
+    private SimpleMeterRegistry registry;
+    private PropertyDetailCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new PropertyDetailCache(Duration.ofMinutes(10), 100, registry,
+                new PrimaryReads(mock(PlatformTransactionManager.class), false));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldLoadOnce_AndRecordHitsAndMisses() {
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+        cache.get(1L, this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "property.details").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "property.details").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldEvictEntry_ForEveryChangeType() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        cache.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.IMAGES_CHANGED));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertEquals(3, loads.get());
+        assertEquals(1.0, registry.get("cache.invalidations").tag("cache", "property.details").counter().count());
+    }
+
+    private PropertyResponse load(Long id) {
+        loads.incrementAndGet();
+        PropertyResponse response = new PropertyResponse();
+        response.setId(id);
+        return response;
+    }
+}
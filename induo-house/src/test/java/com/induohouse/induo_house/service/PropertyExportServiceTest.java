@@ -0,0 +1,115 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.exception.TooManyRequestsException;
+import com.induohouse.induo_house.repository.PropertyExportRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PropertyExportServiceTest {
+
+    private PropertyRepository propertyRepository;
+    private PropertyExportService exportService;
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        exportService = new PropertyExportService(propertyRepository, objectMapper, 1, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void writeNdjson_ShouldWriteOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.writeNdjson(List.of(row(1L, "Kawalerka"), row(2L, "Dom")).iterator(), out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, count);
+        assertEquals(2, lines.size());
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        assertEquals(1, first.path("id").asLong());
+        assertEquals("Kawalerka", first.path("title").asText());
+        assertEquals("2025-03-01T12:00:00", first.path("createdAt").asText());
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("}\n"));
+    }
+
+    @Test
+    void writeCsv_ShouldQuoteFieldsWithSeparatorsAndQuotes() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.writeCsv(List.of(row(1L, "Dom, \"z ogrodem\"\nprzy lesie")).iterator(), out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith(PropertyExportService.CSV_HEADER + "\r\n"));
+        assertTrue(csv.contains("1,\"Dom, \"\"z ogrodem\"\"\nprzy lesie\",SALE,APARTMENT,450000.00,52.5,Kraków,"));
+        assertTrue(csv.endsWith(",2025-03-01T12:00,2025-03-02T12:00\r\n"));
+    }
+
+    @Test
+    void export_ShouldCloseCursor_AndNotCloseResponseStream() throws IOException {
+        AtomicBoolean cursorClosed = new AtomicBoolean();
+        when(propertyRepository.streamActiveForExport())
+                .thenReturn(Stream.of(row(1L, "Kawalerka")).onClose(() -> cursorClosed.set(true)));
+        AtomicBoolean responseClosed = new AtomicBoolean();
+        OutputStream response = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                responseClosed.set(true);
+            }
+        };
+
+        long count = exportService.export(PropertyExportService.Format.NDJSON, response);
+
+        assertEquals(1, count);
+        assertTrue(cursorClosed.get());
+        assertFalse(responseClosed.get());
+    }
+
+    @Test
+    void acquireSlot_ShouldRejectExportOverLimit_UntilSlotIsReleased() {
+        PropertyExportService.Slot slot = exportService.acquireSlot();
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, exportService::acquireSlot);
+        assertEquals(Duration.ofSeconds(30), ex.getRetryAfter());
+
+        slot.close();
+        exportService.acquireSlot().close();
+    }
+
+    @Test
+    void formatFrom_ShouldRejectUnknownFormat() {
+        assertEquals(PropertyExportService.Format.CSV, PropertyExportService.Format.from(" CSV "));
+        assertThrows(InvalidRequestParameterException.class, () -> PropertyExportService.Format.from("xml"));
+    }
+
+    private static PropertyExportRow row(Long id, String title) {
+        return new PropertyExportRow(id, title, "SALE", "APARTMENT", new BigDecimal("450000.00"),
+                new BigDecimal("52.5"), "Kraków", "Długa 1", "31-001", 2, 3, 5, 50.06, 19.94,
+                "http://localhost:8080/uploads/images/a.jpg",
+                LocalDateTime.of(2025, 3, 1, 12, 0), LocalDateTime.of(2025, 3, 2, 12, 0));
+    }
+}
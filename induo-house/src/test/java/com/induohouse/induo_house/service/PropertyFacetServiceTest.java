@@ -0,0 +1,64 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.FacetCountDto;
+import com.induohouse.induo_house.dto.response.PropertyFacetsResponse;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PropertyFacetServiceTest {
+
+    private PropertyRepository propertyRepository;
+    private PropertyFacetService facetService;
+
+    private final PropertyFacetsResponse facets = new PropertyFacetsResponse(
+            3,
+            List.of(new FacetCountDto("Kraków", 2), new FacetCountDto("Gdańsk", 1)),
+            List.of(new FacetCountDto("APARTMENT", 3)),
+            List.of(new FacetCountDto("SALE", 3)),
+            List.of(),
+            List.of(),
+            List.of());
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        facetService = new PropertyFacetService(propertyRepository, new PrimaryReads(mock(PlatformTransactionManager.class), false), Duration.ofSeconds(30), 100);
+        when(propertyRepository.facets(any())).thenReturn(facets);
+    }
+
+    @Test
+    void getFacets_ShouldQueryOnce_ForEquivalentFilters() {
+        facetService.getFacets(PropertySearchCriteria.builder().city("Kraków ").build());
+        PropertyFacetsResponse result = facetService.getFacets(PropertySearchCriteria.builder().city("kraków").build());
+
+        assertEquals(3, result.total());
+        verify(propertyRepository, times(1)).facets(any());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldRecomputeFacets_AfterListingChange() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        facetService.getFacets(criteria);
+
+        facetService.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.IMAGES_CHANGED));
+        facetService.getFacets(criteria);
+        verify(propertyRepository, times(1)).facets(any());
+
+        facetService.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.UPDATED));
+        facetService.getFacets(criteria);
+        verify(propertyRepository, times(2)).facets(any());
+    }
+}
@@ -0,0 +1,91 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyImportReaderTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void csv_ShouldMapHeaderToFields_QuotedNewlinesAndUnknownColumns() throws IOException {
+        String csv = "\uFEFFid,title,price,area,city,street,numberOfRooms,transactionType,propertyType\r\n"
+                + "7,\"Dom, \"\"z ogrodem\"\"\nprzy lesie\",990000.00,140,Kraków,Leśna 1,,SALE,HOUSE\r\n"
+                + "\r\n"
+                + "8,Kawalerka,320000,28.5,Gdańsk,Długa 2,1,SALE,APARTMENT\n";
+
+        List<PropertyImportReader.Row> rows = readAll(PropertyExportService.Format.CSV, csv);
+
+        assertEquals(2, rows.size());
+        assertEquals(2, rows.get(0).number());
+        assertEquals("Dom, \"z ogrodem\"\nprzy lesie", rows.get(0).request().getTitle());
+        assertEquals(new BigDecimal("990000.00"), rows.get(0).request().getPrice());
+        assertNull(rows.get(0).request().getNumberOfRooms());
+        assertEquals(4, rows.get(1).number());
+        assertEquals(1, rows.get(1).request().getNumberOfRooms());
+        assertEquals("Gdańsk", rows.get(1).request().getCity());
+    }
+
+    @Test
+    void csv_ShouldReportBadCellAndTooManyColumns_PerRow() throws IOException {
+        String csv = "title,price,city\nDom,duzo,Kraków\nDom,1,Kraków,nadmiar\nDom,1,Kraków\n";
+
+        List<PropertyImportReader.Row> rows = readAll(PropertyExportService.Format.CSV, csv);
+
+        assertEquals(3, rows.size());
+        assertEquals("price", rows.get(0).error().field());
+        assertEquals(2, rows.get(0).error().row());
+        assertNotNull(rows.get(1).error());
+        assertNull(rows.get(2).error());
+    }
+
+    @Test
+    void csv_ShouldStopOnUnclosedQuote() {
+        String csv = "title,city\n\"Dom,Kraków\n";
+
+        assertThrows(PropertyImportReader.MalformedFileException.class,
+                () -> readAll(PropertyExportService.Format.CSV, csv));
+    }
+
+    @Test
+    void ndjson_ShouldContinueAfterBrokenLine_AndSkipBlankLines() throws IOException {
+        String ndjson = "{\"title\":\"Dom\",\"price\":500000,\"city\":\"Kraków\"}\n"
+                + "{\"title\":\n"
+                + "\n"
+                + "{\"title\":\"Dom\",\"floor\":\"parter\"}\n"
+                + "[1,2]\n"
+                + "{\"title\":\"Kawalerka\",\"unknown\":true}";
+
+        List<PropertyImportReader.Row> rows = readAll(PropertyExportService.Format.NDJSON, ndjson);
+
+        assertEquals(5, rows.size());
+        assertEquals("Dom", rows.get(0).request().getTitle());
+        assertEquals(2, rows.get(1).error().row());
+        assertEquals(4, rows.get(2).number());
+        assertEquals("floor", rows.get(2).error().field());
+        assertNotNull(rows.get(3).error());
+        assertEquals("Kawalerka", rows.get(4).request().getTitle());
+    }
+
+    private List<PropertyImportReader.Row> readAll(PropertyExportService.Format format, String content) throws IOException {
+        List<PropertyImportReader.Row> rows = new ArrayList<>();
+        try (PropertyImportReader reader = PropertyImportReader.open(format,
+                new BufferedReader(new StringReader(content)), objectMapper)) {
+            PropertyImportReader.Row row;
+            while ((row = reader.next()) != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,219 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.dto.response.ImportRowErrorDto;
+import com.induohouse.induo_house.dto.response.PropertyImportJobResponse;
+import com.induohouse.induo_house.entity.Property;
+import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.exception.ImportJobNotFoundException;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.exception.PropertyAccessDeniedException;
+import com.induohouse.induo_house.exception.TooManyRequestsException;
+import com.induohouse.induo_house.mapper.PropertyMapper;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import com.induohouse.induo_house.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class PropertyImportServiceTest {
+
+    private static final String VALID = "{\"title\":\"Mieszkanie %d\",\"price\":450000,\"area\":52.5,\"city\":\"Kraków\","
+            + "\"street\":\"Długa %d\",\"transactionType\":\"SALE\",\"propertyType\":\"APARTMENT\"}";
+
+    @TempDir
+    Path tempDir;
+
+    private PropertyRepository propertyRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private PropertyImportService importService;
+    private final AtomicLong sequence = new AtomicLong();
+    private final List<Integer> savedChunks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        when(userRepository.getReferenceById(any())).thenAnswer(invocation -> user(invocation.getArgument(0), User.Role.AGENT));
+        when(propertyRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Property> properties = invocation.getArgument(0);
+            savedChunks.add(properties.size());
+            properties.forEach(property -> property.setId(sequence.incrementAndGet()));
+            return properties;
+        });
+
+        importService = new PropertyImportService(propertyRepository, userRepository, new PropertyMapper(),
+                Jackson2ObjectMapperBuilder.json().build(),
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher,
+                DataSize.ofKilobytes(1), 2, 3, Duration.ofMinutes(5), 100, 1, 1, Duration.ofMinutes(1), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void run_ShouldSaveValidRowsInChunks_AndReportInvalidOnes() throws IOException {
+        String ndjson = String.join("\n",
+                VALID.formatted(1, 1),
+                "{\"title\":\"\",\"price\":-5,\"city\":\"Kraków\",\"transactionType\":\"SALE\",\"propertyType\":\"APARTMENT\"}",
+                VALID.formatted(3, 3),
+                VALID.formatted(4, 4),
+                "nie json");
+        PropertyImportJob job = new PropertyImportJob(10L, PropertyExportService.Format.NDJSON, 100);
+        Path file = write(ndjson);
+
+        importService.run(job, file);
+
+        PropertyImportJobResponse result = job.snapshot();
+        assertEquals(PropertyImportJobResponse.Status.COMPLETED, result.status());
+        assertEquals(5, result.processedRows());
+        assertEquals(3, result.importedRows());
+        assertEquals(2, result.failedRows());
+        assertEquals(List.of(1, 2), savedChunks);
+        assertEquals(List.of(new ImportRowErrorDto(2, "price", "Cena musi być większa od 0"),
+                        new ImportRowErrorDto(2, "title", "Tytuł jest wymagany"),
+                        new ImportRowErrorDto(5, null, "Nieprawidlowy JSON")),
+                result.errors());
+        verify(eventPublisher).publishEvent(new PropertiesChangedEvent(List.of(1L), ChangeType.CREATED));
+        verify(eventPublisher).publishEvent(new PropertiesChangedEvent(List.of(2L, 3L), ChangeType.CREATED));
+        assertFalse(Files.exists(file));
+    }
+
+    @Test
+    void run_ShouldRetryRowByRow_WhenDatabaseRejectsChunk() throws IOException {
+        when(propertyRepository.saveAll(anyList()))
+                .thenThrow(new IllegalStateException("not-null violation"))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new IllegalStateException("not-null violation"));
+        PropertyImportJob job = new PropertyImportJob(10L, PropertyExportService.Format.NDJSON, 100);
+
+        importService.run(job, write(VALID.formatted(1, 1) + "\n" + VALID.formatted(2, 2)));
+
+        PropertyImportJobResponse result = job.snapshot();
+        assertEquals(1, result.importedRows());
+        assertEquals(1, result.failedRows());
+        assertEquals(2, result.errors().get(0).row());
+        verify(propertyRepository, times(3)).saveAll(anyList());
+    }
+
+    @Test
+    void run_ShouldCapErrorList_ButCountEveryFailedRow() throws IOException {
+        PropertyImportJob job = new PropertyImportJob(10L, PropertyExportService.Format.CSV, 3);
+
+        importService.run(job, write("title,city\n,\n,\n,\n,\n"));
+
+        PropertyImportJobResponse result = job.snapshot();
+        assertEquals(4, result.failedRows());
+        assertEquals(3, result.errors().size());
+        assertTrue(result.errorsTruncated());
+    }
+
+    @Test
+    void run_ShouldFailJob_OnMalformedFile() throws IOException {
+        PropertyImportJob job = new PropertyImportJob(10L, PropertyExportService.Format.CSV, 100);
+
+        importService.run(job, write("title,city\n\"Dom,Kraków\n"));
+
+        assertEquals(PropertyImportJobResponse.Status.FAILED, job.snapshot().status());
+        assertNotNull(job.snapshot().message());
+    }
+
+    @Test
+    void start_ShouldRejectUsersWithoutAgentRole() {
+        assertThrows(PropertyAccessDeniedException.class, () -> importService.start(PropertyExportService.Format.NDJSON,
+                new ByteArrayInputStream(VALID.getBytes(StandardCharsets.UTF_8)), user(1L, User.Role.USER)));
+    }
+
+    @Test
+    void start_ShouldRejectFileOverLimit() {
+        byte[] tooLarge = new byte[2048];
+
+        assertThrows(InvalidRequestParameterException.class, () -> importService.start(
+                PropertyExportService.Format.CSV, new ByteArrayInputStream(tooLarge), user(1L, User.Role.AGENT)));
+    }
+
+    @Test
+    void start_ShouldRejectImportWhenQueueIsFull_AndDropSpooledFile() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(propertyRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await();
+            return invocation.getArgument(0);
+        });
+        try {
+            importService.start(PropertyExportService.Format.NDJSON,
+                    new ByteArrayInputStream(VALID.getBytes(StandardCharsets.UTF_8)), user(1L, User.Role.AGENT));
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            importService.start(PropertyExportService.Format.NDJSON,
+                    new ByteArrayInputStream(VALID.getBytes(StandardCharsets.UTF_8)), user(1L, User.Role.AGENT));
+            long spooled = spooledFiles();
+
+            TooManyRequestsException ex = assertThrows(TooManyRequestsException.class, () -> importService.start(
+                    PropertyExportService.Format.NDJSON,
+                    new ByteArrayInputStream(VALID.getBytes(StandardCharsets.UTF_8)), user(1L, User.Role.AGENT)));
+            assertEquals(Duration.ofMinutes(1), ex.getRetryAfter());
+            assertEquals(spooled, spooledFiles());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void getStatus_ShouldHideJobFromOtherAgents_ButNotFromAdmin() {
+        PropertyImportJobResponse started = importService.start(PropertyExportService.Format.NDJSON,
+                new ByteArrayInputStream(VALID.getBytes(StandardCharsets.UTF_8)), user(1L, User.Role.AGENT));
+
+        assertEquals(started.id(), importService.getStatus(started.id(), user(1L, User.Role.AGENT)).id());
+        assertEquals(started.id(), importService.getStatus(started.id(), user(99L, User.Role.ADMIN)).id());
+        assertThrows(ImportJobNotFoundException.class,
+                () -> importService.getStatus(started.id(), user(2L, User.Role.AGENT)));
+    }
+
+    private static long spooledFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith("property-import-")).count();
+        }
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "import", ".txt"), content);
+    }
+
+    private static User user(Long id, User.Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,82 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class PropertyLifecycleServiceTest {
+
+    private PropertyRepository propertyRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private PropertyLifecycleService lifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        lifecycleService = new PropertyLifecycleService(propertyRepository,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher,
+                Duration.ofDays(60), Duration.ofDays(30), 2, 3);
+    }
+
+    @Test
+    void expire_ShouldProcessBatchesUntilShortOne_AndPublishOneEventPerBatch() {
+        when(propertyRepository.expireActiveBefore(any(), anyInt()))
+                .thenReturn(List.of(1L, 2L), List.of(3L));
+
+        int expired = lifecycleService.expire();
+
+        assertEquals(3, expired);
+        verify(propertyRepository, times(2)).expireActiveBefore(any(), eq(2));
+        verify(eventPublisher).publishEvent(new PropertiesChangedEvent(List.of(1L, 2L), ChangeType.UPDATED));
+        verify(eventPublisher).publishEvent(new PropertiesChangedEvent(List.of(3L), ChangeType.UPDATED));
+    }
+
+    @Test
+    void expire_ShouldUseTtlCutoff() {
+        when(propertyRepository.expireActiveBefore(any(), anyInt())).thenReturn(List.of());
+        LocalDateTime before = LocalDateTime.now().minusDays(60);
+
+        lifecycleService.expire();
+
+        ArgumentCaptor<LocalDateTime> cutoff = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(propertyRepository).expireActiveBefore(cutoff.capture(), eq(2));
+        assertFalse(cutoff.getValue().isBefore(before));
+        assertTrue(cutoff.getValue().isBefore(LocalDateTime.now().minusDays(59)));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void archive_ShouldStopAtMaxBatchesPerRun_AndPublishDeletes() {
+        when(propertyRepository.archiveClosedBefore(any(), anyInt())).thenReturn(List.of(1L, 2L));
+
+        int archived = lifecycleService.archive();
+
+        assertEquals(6, archived);
+        verify(propertyRepository, times(3)).archiveClosedBefore(any(), eq(2));
+        verify(eventPublisher, times(3)).publishEvent(new PropertiesChangedEvent(List.of(1L, 2L), ChangeType.DELETED));
+    }
+
+    @Test
+    void run_ShouldSwallowFailure_SoSchedulerKeepsRunning() {
+        when(propertyRepository.expireActiveBefore(any(), anyInt())).thenThrow(new IllegalStateException("db down"));
+
+        assertDoesNotThrow(() -> lifecycleService.run());
+        verify(propertyRepository, never()).archiveClosedBefore(any(), anyInt());
+    }
+}
@@ -0,0 +1,177 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.PropertyChangeDto;
+import com.induohouse.induo_house.event.PropertiesChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PropertyListingIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private static final Sort NEWEST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private PropertyRepository propertyRepository;
+    private PropertyListingIndex index;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        index = new PropertyListingIndex(propertyRepository, new PrimaryReads(mock(PlatformTransactionManager.class), false), true);
+        when(propertyRepository.streamIndexRows()).thenReturn(List.of(
+                row(1L, "Gdańsk", "APARTMENT", "SALE", "450000.00", "52.50", 2, NOW.minusDays(3)),
+                row(2L, "Kraków", "HOUSE", "SALE", "990000.00", "140.00", 5, NOW.minusDays(2)),
+                row(3L, "GDAŃSK", "APARTMENT", "RENT", "3200.00", "38.00", 1, NOW.minusDays(1)),
+                row(4L, "Łódź", "APARTMENT", "SALE", "380000.00", "61.00", null, NOW)
+        ).stream());
+        index.rebuild();
+    }
+
+    @Test
+    void search_ShouldMatchCityWithoutDiacritics_NewestFirst() {
+        PropertyListingIndex.Hits hits = index.search(
+                PropertySearchCriteria.builder().city("gdansk").build(), NEWEST, 0, 10).orElseThrow();
+
+        assertEquals(List.of(3L, 1L), hits.ids());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void search_ShouldApplyRangesAndExactFilters() {
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder()
+                .transactionType("SALE")
+                .minPrice(new BigDecimal("400000"))
+                .bedrooms(2)
+                .build();
+
+        PropertyListingIndex.Hits hits = index.search(criteria, Sort.by("price"), 0, 10).orElseThrow();
+
+        assertEquals(List.of(1L, 2L), hits.ids());
+    }
+
+    @Test
+    void search_ShouldClampBoundsOutsideLongRange_InsteadOfFailing() {
+        PropertySearchCriteria tooHigh = PropertySearchCriteria.builder().minPrice(new BigDecimal("1e30")).build();
+        PropertySearchCriteria everything = PropertySearchCriteria.builder()
+                .minArea(new BigDecimal("-1e30"))
+                .maxArea(new BigDecimal("1e30"))
+                .build();
+
+        assertEquals(0, index.search(tooHigh, NEWEST, 0, 10).orElseThrow().total());
+        assertEquals(4, index.search(everything, NEWEST, 0, 10).orElseThrow().total());
+    }
+
+    @Test
+    void search_ShouldPageWithOffset_AndReportFullTotal() {
+        PropertyListingIndex.Hits hits = index.search(new PropertySearchCriteria(), NEWEST, 1, 2).orElseThrow();
+
+        assertEquals(List.of(3L, 2L), hits.ids());
+        assertEquals(4, hits.total());
+    }
+
+    @Test
+    void search_ShouldFallBack_ForSortNotHeldInIndex() {
+        assertTrue(index.search(new PropertySearchCriteria(), Sort.by("title"), 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchAfter_ShouldContinueFromCursor() {
+        List<Long> ids = index.searchAfter(
+                new PropertySearchCriteria(), new PropertyCursor(NOW.minusDays(1), 3L), 10).orElseThrow();
+
+        assertEquals(List.of(2L, 1L), ids);
+    }
+
+    @Test
+    void onPropertyChanged_ShouldApplyUpdatesAndDeletesIncrementally() {
+        when(propertyRepository.findIndexRows(List.of(5L))).thenReturn(List.of(
+                row(5L, "Gdańsk", "HOUSE", "SALE", "1200000.00", "180.00", 6, NOW.plusHours(1))));
+        when(propertyRepository.findIndexRows(List.of(1L))).thenReturn(List.of(
+                row(1L, "Sopot", "APARTMENT", "SALE", "450000.00", "52.50", 2, NOW.minusDays(3))));
+
+        index.onPropertyChanged(new PropertyChangedEvent(5L, ChangeType.CREATED));
+        index.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.UPDATED));
+        index.onPropertyChanged(new PropertyChangedEvent(3L, ChangeType.DELETED));
+
+        PropertyListingIndex.Hits gdansk = index.search(
+                PropertySearchCriteria.builder().city("Gdańsk").build(), NEWEST, 0, 10).orElseThrow();
+        assertEquals(List.of(5L), gdansk.ids());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void onPropertiesChanged_ShouldLoadWholeChunkInOneQuery() {
+        when(propertyRepository.findIndexRows(List.of(5L, 6L))).thenReturn(List.of(
+                row(5L, "Gdańsk", "HOUSE", "SALE", "1200000.00", "180.00", 6, NOW.plusHours(1)),
+                row(6L, "Gdańsk", "APARTMENT", "RENT", "2800.00", "35.00", 1, NOW.plusHours(1))));
+
+        index.onPropertiesChanged(new PropertiesChangedEvent(List.of(5L, 6L), ChangeType.CREATED));
+
+        verify(propertyRepository, times(1)).findIndexRows(any());
+        assertEquals(6, index.size());
+    }
+
+    @Test
+    void onChanges_ShouldApplyOutboxBatchFromOtherInstances() {
+        when(propertyRepository.findIndexRows(List.of(5L, 3L))).thenReturn(List.of(
+                row(5L, "Gdańsk", "HOUSE", "SALE", "1200000.00", "180.00", 6, NOW.plusHours(1))));
+
+        index.onChanges(List.of(
+                new PropertyChangeDto(1, 10, 5L, ChangeType.CREATED, NOW),
+                new PropertyChangeDto(2, 10, 3L, ChangeType.DELETED, NOW),
+                new PropertyChangeDto(3, 11, 5L, ChangeType.UPDATED, NOW),
+                new PropertyChangeDto(4, 11, 2L, ChangeType.IMAGES_CHANGED, NOW)));
+
+        verify(propertyRepository, times(1)).findIndexRows(any());
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void search_ShouldFilterByRadius_SkippingRowsWithoutLocation() {
+        when(propertyRepository.findIndexRows(List.of(10L))).thenReturn(List.of(
+                new PropertyIndexRow(10L, "Gdańsk", "Długa 1", "APARTMENT", "SALE", new BigDecimal("500000.00"),
+                        new BigDecimal("50.00"), 2, 54.3520, 18.6466, NOW)));
+        when(propertyRepository.findIndexRows(List.of(11L))).thenReturn(List.of(
+                new PropertyIndexRow(11L, "Sopot", "Monte Cassino 5", "APARTMENT", "SALE", new BigDecimal("800000.00"),
+                        new BigDecimal("70.00"), 3, 54.4416, 18.5601, NOW)));
+        index.onPropertyChanged(new PropertyChangedEvent(10L, ChangeType.CREATED));
+        index.onPropertyChanged(new PropertyChangedEvent(11L, ChangeType.CREATED));
+
+        PropertySearchCriteria nearGdansk = PropertySearchCriteria.builder()
+                .lat(54.35).lon(18.65).radiusKm(5.0).build();
+
+        assertEquals(List.of(10L), index.search(nearGdansk, NEWEST, 0, 10).orElseThrow().ids());
+    }
+
+    @Test
+    void search_ShouldBeUnavailable_UntilFirstRebuild() {
+        PropertyListingIndex cold = new PropertyListingIndex(propertyRepository, new PrimaryReads(mock(PlatformTransactionManager.class), false), true);
+
+        assertTrue(cold.search(new PropertySearchCriteria(), NEWEST, 0, 10).isEmpty());
+        cold.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.UPDATED));
+        assertFalse(cold.isReady());
+        verify(propertyRepository, never()).findIndexRows(any());
+    }
+
+    private static PropertyIndexRow row(Long id, String city, String type, String transaction,
+                                        String price, String area, Integer rooms, LocalDateTime createdAt) {
+        return new PropertyIndexRow(id, city, "Długa 1", type, transaction,
+                new BigDecimal(price), new BigDecimal(area), rooms, null, null, createdAt);
+    }
+}
@@ -0,0 +1,96 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.MapClusterDto;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PropertyMapClusterServiceTest {
+
+    private static final String TRICITY = "18.4,54.3,18.7,54.5";
+
+    private PropertyRepository propertyRepository;
+    private PropertyMapClusterService clusterService;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        clusterService = new PropertyMapClusterService(propertyRepository, new PrimaryReads(mock(PlatformTransactionManager.class), false), true);
+        when(propertyRepository.streamIndexRows()).thenReturn(List.of(
+                row(1L, "SALE", "450000.00", 54.3520, 18.6466),
+                row(2L, "SALE", "720000.00", 54.3490, 18.6520),
+                row(3L, "RENT", "3500.00", 54.3510, 18.6470),
+                row(4L, "SALE", "900000.00", 54.4416, 18.5601),
+                row(5L, "SALE", "300000.00", null, null)
+        ).stream());
+        clusterService.rebuild();
+    }
+
+    @Test
+    void clusters_ShouldMergeWholeViewportIntoOneCell_AtLowZoom() {
+        List<MapClusterDto> clusters = clusterService.clusters(TRICITY, 4, null);
+
+        assertEquals(1, clusters.size());
+        assertEquals(4, clusters.get(0).count());
+        assertEquals(new BigDecimal("3500.00"), clusters.get(0).minPrice());
+        assertEquals(new BigDecimal("900000.00"), clusters.get(0).maxPrice());
+    }
+
+    @Test
+    void clusters_ShouldSplitByCellAndFilterTransaction_AtHighZoom() {
+        List<MapClusterDto> clusters = clusterService.clusters(TRICITY, 12, "SALE");
+
+        assertEquals(2, clusters.size());
+        assertEquals(2, clusters.get(0).count());
+        assertEquals(54.3505, clusters.get(0).latitude(), 1e-9);
+        assertEquals(new BigDecimal("450000.00"), clusters.get(0).minPrice());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldMoveAndDropAggregates() {
+        when(propertyRepository.findIndexRows(List.of(4L)))
+                .thenReturn(List.of(row(4L, "SALE", "200000.00", 54.3500, 18.6500)));
+
+        clusterService.onPropertyChanged(new PropertyChangedEvent(4L, ChangeType.UPDATED));
+        clusterService.onPropertyChanged(new PropertyChangedEvent(3L, ChangeType.DELETED));
+
+        List<MapClusterDto> clusters = clusterService.clusters(TRICITY, 12, null);
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).count());
+        assertEquals(new BigDecimal("200000.00"), clusters.get(0).minPrice());
+    }
+
+    @Test
+    void clusters_ShouldFallBackToSqlAggregation_WhenIndexNotBuilt() {
+        PropertyMapClusterService notBuilt = new PropertyMapClusterService(propertyRepository, new PrimaryReads(mock(PlatformTransactionManager.class), false), false);
+        MapClusterDto fromSql = new MapClusterDto("u3", 54.35, 18.65, 4, new BigDecimal("3500.00"),
+                new BigDecimal("900000.00"));
+        when(propertyRepository.findMapClusters(anyCollection(), eq(2), isNull())).thenReturn(List.of(fromSql));
+
+        assertEquals(List.of(fromSql), notBuilt.clusters(TRICITY, 4, null));
+    }
+
+    @Test
+    void clusters_ShouldRejectInvalidZoom() {
+        assertThrows(InvalidRequestParameterException.class, () -> clusterService.clusters(TRICITY, 40, null));
+    }
+
+    private static PropertyIndexRow row(Long id, String transaction, String price, Double lat, Double lon) {
+        return new PropertyIndexRow(id, "Gdańsk", "Długa 1", "APARTMENT", transaction, new BigDecimal(price),
+                new BigDecimal("50.00"), 2, lat, lon, LocalDateTime.of(2026, 3, 1, 12, 0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.induohouse.induo_house.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.PageResponse;
+import com.induohouse.induo_house.dto.PropertyFields;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
+import com.induohouse.induo_house.dto.response.PropertyListResponse;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class PropertyPageCacheTest {
+
+    private PropertyPageCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = cache(DataSize.ofBytes(0));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ShouldReuseEncodedBytes_ForNormalizedFilters() throws IOException {
+        PropertySearchCriteria first = PropertySearchCriteria.builder().city(" Kraków ").build();
+        PropertySearchCriteria second = PropertySearchCriteria.builder().city("kraków").build();
+
+        PropertyPageCache.EncodedPage page = cache.get(first, PageRequest.of(0, 12), false, PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+        PropertyPageCache.EncodedPage again = cache.get(second, PageRequest.of(0, 12), false, PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+
+        assertEquals(1, loads.get());
+        assertSame(page, again);
+        assertTrue(new String(page.body()).contains("\"title\":\"Mieszkanie 1\""));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(page.gzip()))) {
+            assertArrayEquals(page.body(), gzip.readAllBytes());
+        }
+        assertTrue(page.etag().startsWith("W/\""));
+    }
+
+    @Test
+    void get_ShouldKeepSeparateEntries_PerFieldSelection() {
+        PropertyPageCache.EncodedPage full = cache.get(new PropertySearchCriteria(), PageRequest.of(0, 12), false,
+                PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+        PropertyPageCache.EncodedPage map = cache.get(new PropertySearchCriteria(), PageRequest.of(0, 12), false,
+                PropertyFields.forList("map", null), MediaType.APPLICATION_JSON, this::load);
+
+        assertEquals(2, loads.get());
+        assertTrue(new String(full.body()).contains("\"ownerFirstName\""));
+        assertFalse(new String(map.body()).contains("\"ownerFirstName\""));
+        assertNotEquals(full.etag(), map.etag());
+    }
+
+    @Test
+    void get_ShouldNotCache_PagesBeyondLimit() {
+        cache.get(new PropertySearchCriteria(), PageRequest.of(2, 12), false, PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+        PropertyPageCache.EncodedPage page = cache.get(new PropertySearchCriteria(), PageRequest.of(2, 12), false, PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+
+        assertEquals(2, loads.get());
+        assertNull(page.gzip());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldBumpVersion_AndDropPages() {
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        PropertyPageCache.EncodedPage before = cache.get(criteria, PageRequest.of(0, 12), false, PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+
+        cache.onPropertyChanged(new PropertyChangedEvent(1L, ChangeType.IMAGES_CHANGED));
+        PropertyPageCache.EncodedPage after = cache.get(criteria, PageRequest.of(0, 12), false, PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+
+        assertEquals(1, cache.listingsVersion());
+        assertEquals(2, loads.get());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void get_ShouldKeepSeparateEntries_PerFormat() throws IOException {
+        PropertyPageCache.EncodedPage json = cache.get(new PropertySearchCriteria(), PageRequest.of(0, 12), false,
+                PropertyFields.FULL_LIST, MediaType.APPLICATION_JSON, this::load);
+        PropertyPageCache.EncodedPage cbor = cache.get(new PropertySearchCriteria(), PageRequest.of(0, 12), false,
+                PropertyFields.FULL_LIST, MediaType.APPLICATION_CBOR, this::load);
+
+        assertEquals(2, loads.get());
+        assertEquals(MediaType.APPLICATION_CBOR, cbor.contentType());
+        assertTrue(cbor.body().length < json.body().length);
+        assertEquals("Mieszkanie 2", new CBORMapper().readTree(cbor.body()).path("content").path(0).path("title").asText());
+        assertNotEquals(json.etag(), cbor.etag());
+    }
+
+    @Test
+    void get_ShouldSkipGzip_BelowCompressionThreshold() {
+        PropertyPageCache small = cache(DataSize.ofKilobytes(2));
+
+        PropertyPageCache.EncodedPage page = small.get(new PropertySearchCriteria(), PageRequest.of(0, 12), false,
+                PropertyFields.forList("map", null), MediaType.APPLICATION_JSON, this::load);
+
+        assertNull(page.gzip());
+    }
+
+    private static PropertyPageCache cache(DataSize gzipThreshold) {
+        return new PropertyPageCache(new ObjectMapper().findAndRegisterModules(),
+                new MappingJackson2CborHttpMessageConverter(), new SimpleMeterRegistry(),
+                Duration.ofMinutes(5), 1_000_000, 1, gzipThreshold,
+                new PrimaryReads(mock(PlatformTransactionManager.class), false));
+    }
+
+    private PageResponse<PropertyListResponse> load() {
+        PropertyListResponse item = new PropertyListResponse();
+        item.setId(1L);
+        item.setTitle("Mieszkanie " + loads.incrementAndGet());
+        return PageResponse.of(new PageImpl<>(List.of(item), PageRequest.of(0, 12), 1));
+    }
+}
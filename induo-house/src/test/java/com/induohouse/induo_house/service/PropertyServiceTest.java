@@ -1,33 +1,53 @@
 package com.induohouse.induo_house.service;
 
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.datasource.ReadYourWritesTracker;
+import com.induohouse.induo_house.dto.CountedPage;
+import com.induohouse.induo_house.dto.PropertyCursor;
+import com.induohouse.induo_house.dto.PropertyFields;
 import com.induohouse.induo_house.dto.request.CreatePropertyRequest;
+import com.induohouse.induo_house.dto.request.PropertySearchCriteria;
 import com.induohouse.induo_house.dto.request.UpdatePropertyRequest;
+import com.induohouse.induo_house.dto.response.PropertyBatchResponse;
 import com.induohouse.induo_house.dto.response.PropertyListResponse;
 import com.induohouse.induo_house.dto.response.PropertyResponse;
 import com.induohouse.induo_house.entity.Property;
 import com.induohouse.induo_house.entity.User;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.exception.InvalidRequestParameterException;
 import com.induohouse.induo_house.exception.PropertyAccessDeniedException;
+import com.induohouse.induo_house.exception.PropertyNotFoundException;
 import com.induohouse.induo_house.mapper.PropertyMapper;
 import com.induohouse.induo_house.repository.PropertyImageRepository;
 import com.induohouse.induo_house.repository.PropertyRepository;
 import com.induohouse.induo_house.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +58,13 @@ class PropertyServiceTest {
     @Mock private PropertyMapper propertyMapper;
     @Mock private PropertyImageRepository propertyImageRepository;
     @Mock private FileStorageService fileStorageService;
+    @Mock private PropertyCountCache countCache;
+    @Mock private PropertyListingIndex listingIndex;
+    @Spy private PropertyDetailCache detailCache =
+            new PropertyDetailCache(Duration.ofMinutes(10), 100, new SimpleMeterRegistry(),
+                    new PrimaryReads(mock(PlatformTransactionManager.class), false));
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Spy private ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(Duration.ofSeconds(5), Duration.ofSeconds(2), 100);
 
     @InjectMocks
     private PropertyService propertyService;
@@ -91,6 +118,42 @@ class PropertyServiceTest {
         verify(propertyMapper, never()).toResponse(any());
     }
 
+    @Test
+    void getById_ShouldServeRepeatedReadsFromCache_UntilUpdateEvicts() {
+        when(propertyRepository.findByIdWithImages(1L)).thenReturn(Optional.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testResponse);
+
+        propertyService.getById(1L);
+        propertyService.getById(1L);
+        verify(propertyRepository, times(1)).findByIdWithImages(1L);
+
+        UpdatePropertyRequest request = new UpdatePropertyRequest();
+        request.setTitle("Nowy tytuł");
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(testProperty));
+        when(propertyRepository.save(testProperty)).thenReturn(testProperty);
+        propertyService.updatePatch(request, 1L, 1L);
+
+        propertyService.getById(1L);
+        verify(propertyRepository, times(2)).findByIdWithImages(1L);
+        verify(detailCache).evict(1L);
+    }
+
+    @Test
+    void getLastModified_ShouldUseCachedDetail_BeforeQueryingDatabase() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+        testResponse.setUpdatedAt(updatedAt);
+        when(propertyRepository.findByIdWithImages(1L)).thenReturn(Optional.of(testProperty));
+        when(propertyMapper.toResponse(testProperty)).thenReturn(testResponse);
+        when(propertyRepository.findUpdatedAtById(2L)).thenReturn(Optional.of(updatedAt));
+
+        propertyService.getById(1L);
+
+        assertEquals(updatedAt, propertyService.getLastModified(1L));
+        assertEquals(updatedAt, propertyService.getLastModified(2L));
+        verify(propertyRepository, never()).findUpdatedAtById(1L);
+        assertThrows(PropertyNotFoundException.class, () -> propertyService.getLastModified(3L));
+    }
+
     @Test
     void delete_ShouldDeleteProperty_WhenUserIsOwner() {
         when(propertyRepository.findById(1L)).thenReturn(Optional.of(testProperty));
@@ -98,6 +161,8 @@ class PropertyServiceTest {
         propertyService.delete(1L, 1L);
 
         verify(propertyRepository).delete(testProperty);
+        verify(detailCache).evict(1L);
+        verify(eventPublisher).publishEvent(new PropertyChangedEvent(1L, PropertyChangedEvent.ChangeType.DELETED));
     }
 
     @Test
@@ -124,7 +189,7 @@ class PropertyServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(propertyMapper.toEntity(request)).thenReturn(mapped);
-        when(propertyRepository.save(mapped)).thenReturn(saved);
+        when(propertyRepository.saveAndFlush(mapped)).thenReturn(saved);
         when(propertyMapper.toResponse(saved)).thenReturn(expectedResponse);
 
         PropertyResponse result = propertyService.create(request, 1L);
@@ -133,7 +198,7 @@ class PropertyServiceTest {
         assertEquals(99L, result.getId());
         assertEquals("Nowe mieszkanie", result.getTitle());
         verify(userRepository).findById(1L);
-        verify(propertyRepository).save(mapped);
+        verify(propertyRepository).saveAndFlush(mapped);
     }
 
     @Test
@@ -144,7 +209,7 @@ class PropertyServiceTest {
                 () -> propertyService.create(buildRequest(), 999L));
 
         assertEquals("Nie znaleziono uzytkownika o id: 999", ex.getMessage());
-        verify(propertyRepository, never()).save(any());
+        verify(propertyRepository, never()).saveAndFlush(any());
     }
 
     @Test
@@ -180,6 +245,23 @@ class PropertyServiceTest {
         verify(propertyMapper).toResponse(saved);
     }
 
+    @Test
+    void update_ShouldLetOwnerMarkListingSold_WithoutTouchingOtherFields() {
+        UpdatePropertyRequest request = new UpdatePropertyRequest();
+        request.setStatus("SOLD");
+        String title = testProperty.getTitle();
+
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(testProperty));
+        when(propertyRepository.save(testProperty)).thenReturn(testProperty);
+
+        propertyService.updatePatch(request, 1L, 1L);
+
+        assertEquals("SOLD", testProperty.getStatus());
+        assertEquals(title, testProperty.getTitle());
+        assertTrue(readYourWrites.mustReadPrimary(1L));
+        verify(eventPublisher).publishEvent(new PropertyChangedEvent(1L, PropertyChangedEvent.ChangeType.UPDATED));
+    }
+
     @Test
     void update_ShouldThrowException_WhenNotOwner() {
         UpdatePropertyRequest request = new UpdatePropertyRequest();
@@ -193,27 +275,171 @@ class PropertyServiceTest {
         verify(propertyRepository, never()).save(any());
     }
 
+    @Test
+    void getBatch_ShouldKeepRequestedOrder_AndReportMissingIds() {
+        Property second = new Property();
+        second.setId(2L);
+        second.setUser(testUser);
+        PropertyListResponse first = new PropertyListResponse();
+        first.setId(1L);
+        PropertyListResponse secondResponse = new PropertyListResponse();
+        secondResponse.setId(2L);
+
+        when(propertyRepository.findAllWithImagesByIds(List.of(2L, 9L, 1L))).thenReturn(List.of(testProperty, second));
+        when(propertyMapper.toListResponse(testProperty)).thenReturn(first);
+        when(propertyMapper.toListResponse(second)).thenReturn(secondResponse);
+
+        PropertyBatchResponse result = propertyService.getBatch(List.of(2L, 9L, 1L, 2L));
+
+        assertEquals(List.of(2L, 1L), result.items().stream().map(PropertyListResponse::getId).toList());
+        assertEquals(List.of(9L), result.missingIds());
+    }
+
+    @Test
+    void getBatch_ShouldRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, PropertyService.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(InvalidRequestParameterException.class, () -> propertyService.getBatch(ids));
+        verify(propertyRepository, never()).findAllWithImagesByIds(any());
+    }
+
     @Test
     void getAll_ShouldReturnPagedResults() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Property> propertyPage = new PageImpl<>(List.of(testProperty), pageable, 1);
 
         PropertyListResponse listResponse = new PropertyListResponse();
         listResponse.setId(1L);
         listResponse.setTitle("Piękne mieszkanie");
 
-        when(propertyRepository.findAllPaged(pageable)).thenReturn(propertyPage);
-        when(propertyRepository.findAllWithImagesByIds(List.of(1L)))
-                .thenReturn(List.of(testProperty));
-        when(propertyMapper.toListResponse(testProperty)).thenReturn(listResponse);
+        when(propertyRepository.search(any(PropertySearchCriteria.class), eq(pageable), eq(PropertyFields.FULL_LIST)))
+                .thenReturn(List.of(listResponse));
 
         Page<PropertyListResponse> result = propertyService.getAll(pageable);
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
         assertEquals("Piękne mieszkanie", result.getContent().get(0).getTitle());
-        verify(propertyRepository).findAllPaged(pageable);
-        verify(propertyRepository).findAllWithImagesByIds(List.of(1L));
+        verify(propertyRepository, never()).findAllWithImagesByIds(any());
+        verifyNoInteractions(propertyMapper);
+    }
+
+    @Test
+    void searchAfter_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 10, 12, 0);
+        PropertyListResponse first = listResponse(1L, now);
+        PropertyListResponse second = listResponse(2L, now.minusHours(1));
+
+        PropertyCursor cursor = new PropertyCursor(now.plusDays(1), 10L);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().city("Warszawa").build();
+        when(propertyRepository.searchAfter(criteria, cursor, 2, PropertyFields.FULL_LIST))
+                .thenReturn(List.of(first, second));
+
+        Window<PropertyListResponse> result = propertyService.searchAfter(criteria, cursor, 1, PropertyFields.FULL_LIST);
+
+        assertEquals(1, result.size());
+        assertTrue(result.hasNext());
+        assertEquals(new PropertyCursor(now, 1L), PropertyCursor.from(result.positionAt(0)));
+    }
+
+    @Test
+    void search_ShouldTakeTotalFromCountCache_WhenPageIsFull() {
+        Pageable pageable = PageRequest.of(0, 1);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().city("Warszawa").build();
+
+        when(propertyRepository.search(criteria, pageable, PropertyFields.FULL_LIST))
+                .thenReturn(List.of(listResponse(1L, LocalDateTime.now())));
+        when(countCache.get(eq(criteria), any())).thenReturn(250L);
+
+        Page<PropertyListResponse> result = propertyService.search(criteria, pageable);
+
+        assertEquals(250, result.getTotalElements());
+        assertFalse(((CountedPage<PropertyListResponse>) result).isApproximate());
+        verify(propertyRepository, never()).estimateCount(any());
+    }
+
+    @Test
+    void search_ShouldSkipCount_WhenFirstPageIsNotFull() {
+        Pageable pageable = PageRequest.of(0, 10);
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+
+        when(propertyRepository.search(criteria, pageable, PropertyFields.FULL_LIST))
+                .thenReturn(List.of(listResponse(1L, LocalDateTime.now())));
+
+        Page<PropertyListResponse> result = propertyService.search(criteria, pageable);
+
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(countCache);
+    }
+
+    @Test
+    void search_ShouldReportApproximateTotal_WhenEstimateIsLarge() {
+        ReflectionTestUtils.setField(propertyService, "estimateThreshold", 10_000L);
+        Pageable pageable = PageRequest.of(0, 1);
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+
+        when(propertyRepository.search(criteria, pageable, PropertyFields.FULL_LIST))
+                .thenReturn(List.of(listResponse(1L, LocalDateTime.now())));
+        when(propertyRepository.estimateCount(criteria)).thenReturn(2_500_000L);
+
+        Page<PropertyListResponse> result = propertyService.search(criteria, pageable, true);
+
+        assertEquals(2_500_000L, result.getTotalElements());
+        assertTrue(((CountedPage<PropertyListResponse>) result).isApproximate());
+        verifyNoInteractions(countCache);
+    }
+
+    @Test
+    void search_ShouldHydrateIndexHitsInIndexOrder_WhenIndexIsReady() {
+        Pageable pageable = PageRequest.of(0, 2);
+        PropertySearchCriteria criteria = PropertySearchCriteria.builder().city("Gdansk").build();
+
+        when(listingIndex.search(criteria, pageable.getSort(), 0, 2))
+                .thenReturn(Optional.of(new PropertyListingIndex.Hits(List.of(7L, 3L), 40)));
+        when(propertyRepository.findListingsByIds(List.of(7L, 3L), PropertyFields.FULL_LIST))
+                .thenReturn(List.of(listResponse(3L, LocalDateTime.now()), listResponse(7L, LocalDateTime.now())));
+
+        Page<PropertyListResponse> result = propertyService.search(criteria, pageable);
+
+        assertEquals(40, result.getTotalElements());
+        assertEquals(List.of(7L, 3L), result.getContent().stream().map(PropertyListResponse::getId).toList());
+        verify(propertyRepository, never()).search(any(), any(), any());
+        verifyNoInteractions(countCache);
+    }
+
+    @Test
+    void search_ShouldPassSelectedFieldsToRepository() {
+        Pageable pageable = PageRequest.of(0, 10);
+        PropertySearchCriteria criteria = new PropertySearchCriteria();
+        PropertyFields card = PropertyFields.forList("card", null);
+
+        when(propertyRepository.search(criteria, pageable, card))
+                .thenReturn(List.of(listResponse(1L, LocalDateTime.now())));
+
+        propertyService.search(criteria, pageable, false, card);
+
+        verify(propertyRepository).search(criteria, pageable, card);
+    }
+
+    @Test
+    void getByUserId_ShouldHydratePageIdsInOneQuery_WithoutTouchingEntities() {
+        Pageable pageable = PageRequest.of(0, 2);
+        when(propertyRepository.findIdsByUserId(1L, pageable))
+                .thenReturn(new PageImpl<>(List.of(5L, 2L), pageable, 7));
+        when(propertyRepository.findListingsByIds(List.of(5L, 2L), PropertyFields.FULL_LIST))
+                .thenReturn(List.of(listResponse(2L, LocalDateTime.now()), listResponse(5L, LocalDateTime.now())));
+
+        Page<PropertyListResponse> result = propertyService.getByUserId(1L, pageable);
+
+        assertEquals(7, result.getTotalElements());
+        assertEquals(List.of(5L, 2L), result.getContent().stream().map(PropertyListResponse::getId).toList());
+        verifyNoInteractions(propertyMapper);
+    }
+
+    private PropertyListResponse listResponse(Long id, LocalDateTime createdAt) {
+        PropertyListResponse response = new PropertyListResponse();
+        response.setId(id);
+        response.setCreatedAt(createdAt);
+        return response;
     }
 
     private CreatePropertyRequest buildRequest() {
@@ -0,0 +1,87 @@
+package com.induohouse.induo_house.service;
+
+import com.induohouse.induo_house.datasource.PrimaryReads;
+import com.induohouse.induo_house.dto.response.SuggestionDto;
+import com.induohouse.induo_house.event.PropertyChangedEvent;
+import com.induohouse.induo_house.event.PropertyChangedEvent.ChangeType;
+import com.induohouse.induo_house.repository.PropertyIndexRow;
+import com.induohouse.induo_house.repository.PropertyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PropertySuggestIndexTest {
+
+    private PropertyRepository propertyRepository;
+    private PropertySuggestIndex suggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        suggestIndex = new PropertySuggestIndex(propertyRepository, new PrimaryReads(mock(PlatformTransactionManager.class), false), true);
+        when(propertyRepository.streamIndexRows()).thenReturn(List.of(
+                row(1L, "Gdańsk", "ul. Długa 12"),
+                row(2L, "Gdańsk", "Długa 3/4"),
+                row(3L, "GDAŃSK", "Grunwaldzka 100"),
+                row(4L, "Gdynia", "Świętojańska 5"),
+                row(5L, "Bielsko-Biała", "ul. 3 Maja 1")
+        ).stream());
+        suggestIndex.rebuild();
+    }
+
+    @Test
+    void suggest_ShouldFoldDiacritics_AndRankByListingCount() {
+        List<SuggestionDto> result = suggestIndex.suggest("GD", 10);
+
+        assertEquals(new SuggestionDto(SuggestionDto.Type.CITY, "Gdańsk", "Gdańsk", 3), result.get(0));
+        assertEquals(new SuggestionDto(SuggestionDto.Type.CITY, "Gdynia", "Gdynia", 1), result.get(1));
+    }
+
+    @Test
+    void suggest_ShouldGroupStreetsWithoutHouseNumbers() {
+        List<SuggestionDto> result = suggestIndex.suggest("dlu", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(SuggestionDto.Type.STREET, result.get(0).type());
+        assertEquals("Gdańsk", result.get(0).city());
+        assertEquals(2, result.get(0).count());
+    }
+
+    @Test
+    void suggest_ShouldMatchLaterWordsOfName() {
+        List<SuggestionDto> result = suggestIndex.suggest("biala", 10);
+
+        assertEquals("Bielsko-Biała", result.get(0).value());
+    }
+
+    @Test
+    void onPropertyChanged_ShouldUpdateCountsIncrementally() {
+        when(propertyRepository.findIndexRows(List.of(4L))).thenReturn(List.of(row(4L, "Gdańsk", "Długa 7")));
+
+        suggestIndex.onPropertyChanged(new PropertyChangedEvent(4L, ChangeType.UPDATED));
+        suggestIndex.onPropertyChanged(new PropertyChangedEvent(3L, ChangeType.DELETED));
+
+        List<SuggestionDto> result = suggestIndex.suggest("gd", 10);
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).count());
+        assertEquals(3, suggestIndex.suggest("dluga", 10).get(0).count());
+        assertTrue(suggestIndex.suggest("grunw", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldReturnNothing_ForBlankPrefix() {
+        assertTrue(suggestIndex.suggest("  ", 10).isEmpty());
+    }
+
+    private static PropertyIndexRow row(Long id, String city, String street) {
+        return new PropertyIndexRow(id, city, street, "APARTMENT", "SALE", new BigDecimal("500000.00"),
+                new BigDecimal("50.00"), 2, null, null, LocalDateTime.of(2026, 3, 1, 12, 0));
+    }
+}